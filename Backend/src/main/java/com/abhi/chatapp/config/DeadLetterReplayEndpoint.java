@@ -0,0 +1,31 @@
+package com.abhi.chatapp.config;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import com.abhi.chatapp.service.DeadLetterReplayService;
+
+/**
+ * POST /actuator/dltreplay replays message_persist.DLT. Not exposed over HTTP unless
+ * added to management.endpoints.web.exposure.include.
+ */
+@Component
+@Endpoint(id = "dltreplay")
+public class DeadLetterReplayEndpoint {
+
+    @Autowired
+    private DeadLetterReplayService deadLetterReplayService;
+
+    @WriteOperation
+    public Map<String, Object> replay(@Nullable Integer maxRecords, @Nullable Integer batchSize) throws Exception {
+        int max = maxRecords != null ? maxRecords : 10_000;
+        int batch = batchSize != null ? batchSize : 500;
+        int replayed = deadLetterReplayService.replay(max, batch);
+        return Map.of("replayed", replayed, "topic", KafkaErrorHandlingConfig.DEAD_LETTER_TOPIC);
+    }
+}
@@ -0,0 +1,114 @@
+package com.abhi.chatapp.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.RetryListener;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+import org.springframework.util.backoff.FixedBackOff;
+
+import com.abhi.chatapp.entity.Message;
+import com.abhi.chatapp.service.PersistenceCircuitBreaker;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Error handling for the message_persist listener: exponential back-off retries,
+ * then message_persist.DLT. Database outages skip the retries and never reach the
+ * DLT; they trip the circuit breaker, which pauses the listener and re-seeks the record.
+ */
+@Configuration
+public class KafkaErrorHandlingConfig {
+    private static final Logger logger = LoggerFactory.getLogger(KafkaErrorHandlingConfig.class);
+
+    public static final String PERSIST_TOPIC = "message_persist";
+    public static final String DEAD_LETTER_TOPIC = PERSIST_TOPIC + ".DLT";
+
+    // Not a bean: a second KafkaTemplate would switch off Boot's auto-configured one
+    private DefaultKafkaProducerFactory<String, byte[]> bytesProducerFactory;
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> persistListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> kafkaConsumerFactory,
+            KafkaProperties kafkaProperties,
+            KafkaTemplate<String, Message> kafkaTemplate,
+            PersistenceCircuitBreaker circuitBreaker,
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.persist.retry.max-retries:5}") int maxRetries,
+            @Value("${chatapp.persist.retry.initial-interval-ms:200}") long initialIntervalMs,
+            @Value("${chatapp.persist.retry.max-interval-ms:10000}") long maxIntervalMs) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, kafkaConsumerFactory);
+
+        // Records that failed deserialization arrive as raw bytes and are dead-lettered unchanged
+        bytesProducerFactory = new DefaultKafkaProducerFactory<>(
+            kafkaProperties.buildProducerProperties(null), new StringSerializer(), new ByteArraySerializer());
+        Map<Class<?>, KafkaOperations<?, ?>> templates = new LinkedHashMap<>();
+        templates.put(byte[].class, new KafkaTemplate<>(bytesProducerFactory));
+        templates.put(Object.class, kafkaTemplate);
+        DeadLetterPublishingRecoverer deadLetter = new DeadLetterPublishingRecoverer(templates);
+
+        Counter failedDeliveries = meterRegistry.counter("chatapp.persist.failed_deliveries");
+        Counter deadLettered = meterRegistry.counter("chatapp.persist.dead_lettered");
+
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(maxRetries);
+        backOff.setInitialInterval(initialIntervalMs);
+        backOff.setMultiplier(2.0);
+        backOff.setMaxInterval(maxIntervalMs);
+
+        // Not a bean either, so the inbox listener keeps the default error handler
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler((ConsumerRecord<?, ?> record, Exception exception) -> {
+            if (circuitBreaker.isOutage(exception)) {
+                circuitBreaker.trip(exception);
+                // Throwing makes the handler re-seek the record instead of committing past it
+                throw new IllegalStateException("Database unavailable, record kept for redelivery", exception);
+            }
+            logger.error("Dead-lettering {}-{}@{}: {}", record.topic(), record.partition(), record.offset(),
+                exception.getMessage());
+            deadLetter.accept(record, exception);
+            deadLettered.increment();
+        }, backOff);
+
+        // A constraint violation will fail the same way every time
+        errorHandler.addNotRetryableExceptions(DataIntegrityViolationException.class);
+        // Retrying an outage would block the consumer for connection-timeout x retries before
+        // the breaker sees it; go straight to the recoverer, which trips the breaker
+        errorHandler.setBackOffFunction((record, exception) ->
+            circuitBreaker.isOutage(exception) ? new FixedBackOff(0L, 0L) : null);
+        // Every failed attempt, first and last included: when a failure is reported the
+        // handler has not yet decided whether it will be retried or recovered
+        errorHandler.setRetryListeners((RetryListener) (record, exception, deliveryAttempt) ->
+            failedDeliveries.increment());
+
+        factory.setCommonErrorHandler(errorHandler);
+        return factory;
+    }
+
+    @PreDestroy
+    public void closeProducer() {
+        if (bytesProducerFactory != null) {
+            bytesProducerFactory.destroy();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.abhi.chatapp.config;
+
+import java.security.Principal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.abhi.chatapp.service.TokenBucketRateLimiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Throttles STOMP SENDs to /app/chat/{chatId}, once per user and once per chat.
+ * Throttled frames are dropped and the sender is told on /topic/user/{userId}/error.
+ * Read updates to /app/chat/{chatId}/read have their own per-user bucket and are
+ * dropped silently; a later update carries the same or a newer cursor.
+ */
+@Component
+public class RateLimitInterceptor implements ChannelInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitInterceptor.class);
+
+    private static final String CHAT_DESTINATION_PREFIX = "/app/chat/";
+    private static final String READ_SUFFIX = "/read";
+
+    private final boolean enabled;
+    private final TokenBucketRateLimiter userLimiter;
+    private final TokenBucketRateLimiter chatLimiter;
+    private final TokenBucketRateLimiter readLimiter;
+    private final Counter userThrottled;
+    private final Counter chatThrottled;
+    private final Counter readThrottled;
+
+    @Autowired
+    @Lazy
+    private SimpMessagingTemplate simpMessagingTemplate;
+
+    public RateLimitInterceptor(
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.ratelimit.enabled:true}") boolean enabled,
+            @Value("${chatapp.ratelimit.user.permits-per-second:5}") double userRate,
+            @Value("${chatapp.ratelimit.user.burst:20}") int userBurst,
+            @Value("${chatapp.ratelimit.chat.permits-per-second:50}") double chatRate,
+            @Value("${chatapp.ratelimit.chat.burst:200}") int chatBurst,
+            @Value("${chatapp.ratelimit.read.permits-per-second:2}") double readRate,
+            @Value("${chatapp.ratelimit.read.burst:10}") int readBurst) {
+        this.enabled = enabled;
+        this.userLimiter = new TokenBucketRateLimiter(userRate, userBurst);
+        this.chatLimiter = new TokenBucketRateLimiter(chatRate, chatBurst);
+        this.readLimiter = new TokenBucketRateLimiter(readRate, readBurst);
+        this.userThrottled = Counter.builder("chatapp.ratelimit.throttled")
+            .description("STOMP messages rejected by the rate limiter")
+            .tag("scope", "user")
+            .register(meterRegistry);
+        this.chatThrottled = Counter.builder("chatapp.ratelimit.throttled")
+            .description("STOMP messages rejected by the rate limiter")
+            .tag("scope", "chat")
+            .register(meterRegistry);
+        this.readThrottled = Counter.builder("chatapp.ratelimit.throttled")
+            .description("STOMP messages rejected by the rate limiter")
+            .tag("scope", "read")
+            .register(meterRegistry);
+        Gauge.builder("chatapp.ratelimit.buckets", userLimiter, TokenBucketRateLimiter::size)
+            .tag("scope", "user")
+            .register(meterRegistry);
+        Gauge.builder("chatapp.ratelimit.buckets", chatLimiter, TokenBucketRateLimiter::size)
+            .tag("scope", "chat")
+            .register(meterRegistry);
+        Gauge.builder("chatapp.ratelimit.buckets", readLimiter, TokenBucketRateLimiter::size)
+            .tag("scope", "read")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (!enabled) {
+            return message;
+        }
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            accessor = StompHeaderAccessor.wrap(message);
+        }
+        if (!StompCommand.SEND.equals(accessor.getCommand())) {
+            return message;
+        }
+        String destination = accessor.getDestination();
+        Principal user = accessor.getUser();
+        String userKey = user != null ? user.getName() : accessor.getSessionId();
+
+        if (isReadDestination(destination)) {
+            // Every read update becomes a pending cursor that the next flush checks against the database
+            if (!readLimiter.tryAcquire(userKey)) {
+                readThrottled.increment();
+                logger.debug("Throttled read update from {} to {}", userKey, destination);
+                return null;
+            }
+            return message;
+        }
+        String chatId = chatIdFromDestination(destination);
+        if (chatId == null) {
+            return message;
+        }
+
+        if (!userLimiter.tryAcquire(userKey)) {
+            userThrottled.increment();
+            reject(user, chatId, "Too many messages, please slow down");
+            return null;
+        }
+        if (!chatLimiter.tryAcquire(chatId)) {
+            // The message is dropped, so it must not count against the sender
+            userLimiter.release(userKey);
+            chatThrottled.increment();
+            reject(user, chatId, "Chat is receiving too many messages, please retry shortly");
+            return null;
+        }
+        return message;
+    }
+
+    @Scheduled(fixedDelayString = "${chatapp.ratelimit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        int evicted = userLimiter.evictIdle() + chatLimiter.evictIdle() + readLimiter.evictIdle();
+        logger.debug("Evicted {} idle rate limit buckets", evicted);
+    }
+
+    private void reject(Principal user, String chatId, String reason) {
+        logger.debug("Throttled message from {} to chat {}: {}", user != null ? user.getName() : null, chatId, reason);
+        if (user != null) {
+            simpMessagingTemplate.convertAndSend("/topic/user/" + user.getName() + "/error",
+                "Rate limited on chat " + chatId + ": " + reason);
+        }
+    }
+
+    // Matches /app/chat/{chatId} only; /app/chat/{chatId}/read has its own bucket
+    static String chatIdFromDestination(String destination) {
+        if (destination == null || !destination.startsWith(CHAT_DESTINATION_PREFIX)) {
+            return null;
+        }
+        String chatId = destination.substring(CHAT_DESTINATION_PREFIX.length());
+        if (chatId.isEmpty() || chatId.indexOf('/') >= 0) {
+            return null;
+        }
+        return chatId;
+    }
+
+    static boolean isReadDestination(String destination) {
+        if (destination == null || !destination.startsWith(CHAT_DESTINATION_PREFIX) || !destination.endsWith(READ_SUFFIX)) {
+            return false;
+        }
+        String chatId = destination.substring(CHAT_DESTINATION_PREFIX.length(), destination.length() - READ_SUFFIX.length());
+        return !chatId.isEmpty() && chatId.indexOf('/') < 0;
+    }
+}
@@ -0,0 +1,20 @@
+package com.abhi.chatapp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+public class SchedulingConfig {
+
+    // The STOMP broker registers its own heartbeat scheduler; without a bean named
+    // taskScheduler, @Scheduled jobs (DB flushes included) would run on it
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${chatapp.scheduling.pool-size:2}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("chatapp-scheduling-");
+        return scheduler;
+    }
+}
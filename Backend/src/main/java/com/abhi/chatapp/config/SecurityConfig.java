@@ -38,6 +38,7 @@ public class SecurityConfig {
             .csrf().disable()
             .authorizeHttpRequests()
             .requestMatchers("/chat/**", "/ws/**", "/topic/**", "/app/**", "/chat/info/**").permitAll()
+            .requestMatchers("/actuator/health/**").permitAll()
             .requestMatchers("/api/**").authenticated()
             .anyRequest().authenticated()
             .and()
@@ -6,12 +6,17 @@ import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
 import org.springframework.security.messaging.access.intercept.AuthorizationChannelInterceptor;
 import org.springframework.security.messaging.access.intercept.MessageMatcherDelegatingAuthorizationManager;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
 import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
@@ -29,6 +34,8 @@ import org.springframework.security.messaging.access.intercept.MessageMatcherDel
 import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
 import org.springframework.security.core.authority.AuthorityUtils;
 
+import com.abhi.chatapp.service.DrainService;
+
 @Configuration
 @EnableWebSocketMessageBroker
 @Order(Ordered.HIGHEST_PRECEDENCE + 99)
@@ -37,6 +44,12 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Autowired
     private JwtDecoder jwtDecoder;
 
+    @Autowired
+    private RateLimitInterceptor rateLimitInterceptor;
+
+    @Autowired
+    private DrainService drainService;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.enableSimpleBroker("/topic");
@@ -57,6 +70,24 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                .setHttpMessageCacheSize(1000);
     }
 
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Track raw sessions so a drain can close them on a staggered schedule
+        registration.addDecoratorFactory(handler -> new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                drainService.sessionOpened(session);
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                drainService.sessionClosed(session);
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        });
+    }
+
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
         registration.interceptors(new ChannelInterceptor() {
@@ -75,6 +106,11 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 }
 
                 if (StompCommand.CONNECT.equals(command)) {
+                    if (drainService.isDraining()) {
+                        // Surfaces as an ERROR frame so the client backs off and reconnects elsewhere
+                        throw new MessageDeliveryException(message, "Server is draining, reconnect later");
+                    }
+
                     String token = accessor.getFirstNativeHeader("Authorization");
                     System.out.println("Received WebSocket connection request");
 
@@ -87,6 +123,12 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
                             // Store authentication in session attributes
                             accessor.setUser(auth);
+
+                            // Also set it on the original accessor so later frames carry the user
+                            StompHeaderAccessor original = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+                            if (original != null) {
+                                original.setUser(auth);
+                            }
                             if (accessor.getSessionAttributes() != null) {
                                 accessor.getSessionAttributes().put("SPRING.AUTHENTICATION", auth);
                             }
@@ -142,5 +184,8 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
             .anyMessage().permitAll();  // Allow all other messages
 
         registration.interceptors(new AuthorizationChannelInterceptor(messages.build()));
+
+        // Throttle chat SENDs per user and per chat once the sender is known
+        registration.interceptors(rateLimitInterceptor);
     }
 }
@@ -0,0 +1,168 @@
+package com.abhi.chatapp.controller;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+
+import com.abhi.chatapp.dto.UploadRequest;
+import com.abhi.chatapp.entity.Attachment;
+import com.abhi.chatapp.entity.AttachmentUpload;
+import com.abhi.chatapp.repository.AttachmentRepository;
+import com.abhi.chatapp.service.AttachmentService;
+import com.abhi.chatapp.service.BlobStore;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@RestController
+@RequestMapping("/api/attachments")
+public class AttachmentController {
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentController.class);
+
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+
+    @Autowired
+    private AttachmentService attachmentService;
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+    @Autowired
+    private BlobStore blobStore;
+
+    @PostMapping("/uploads")
+    public ResponseEntity<?> startUpload(@RequestBody UploadRequest request, @AuthenticationPrincipal Jwt jwt) {
+        try {
+            AttachmentUpload upload = attachmentService.startUpload(request, jwt.getSubject());
+            logger.debug("Started upload {} of {} bytes for user {}", upload.getId(), upload.getSize(), jwt.getSubject());
+            return ResponseEntity.ok().header(UPLOAD_OFFSET, "0").body(upload);
+        } catch (Exception e) {
+            logger.error("Error in startUpload: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                .body("Failed to start upload: " + e.getMessage());
+        }
+    }
+
+    // Lets a client resume: the returned offset is where the next chunk must start
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<?> getUploadOffset(@PathVariable String uploadId, @AuthenticationPrincipal Jwt jwt) {
+        try {
+            AttachmentUpload upload = attachmentService.getUpload(uploadId, jwt.getSubject());
+            long offset = attachmentService.receivedBytes(upload);
+            return ResponseEntity.ok().header(UPLOAD_OFFSET, String.valueOf(offset)).body(upload);
+        } catch (Exception e) {
+            logger.error("Error fetching upload {}: {}", uploadId, e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                .body("Failed to get upload: " + e.getMessage());
+        }
+    }
+
+    @PutMapping("/uploads/{uploadId}")
+    public ResponseEntity<?> uploadChunk(@PathVariable String uploadId, @RequestParam long offset,
+            @AuthenticationPrincipal Jwt jwt, HttpServletRequest request) {
+        try {
+            AttachmentUpload upload = attachmentService.getUpload(uploadId, jwt.getSubject());
+            long received = attachmentService.appendChunk(upload, offset, request.getInputStream());
+            logger.debug("Upload {} now at {} of {} bytes", uploadId, received, upload.getSize());
+            return ResponseEntity.noContent().header(UPLOAD_OFFSET, String.valueOf(received)).build();
+        } catch (IllegalStateException e) {
+            logger.warn("Conflicting chunk for upload {}: {}", uploadId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body("Failed to upload chunk: " + e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error uploading chunk for {}: {}", uploadId, e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                .body("Failed to upload chunk: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/uploads/{uploadId}/complete")
+    public ResponseEntity<?> completeUpload(@PathVariable String uploadId, @AuthenticationPrincipal Jwt jwt) {
+        try {
+            AttachmentUpload upload = attachmentService.getUpload(uploadId, jwt.getSubject());
+            Attachment attachment = attachmentService.completeUpload(upload);
+            logger.info("Stored attachment {} ({} bytes)", attachment.getId(), attachment.getSize());
+            return ResponseEntity.ok(attachment);
+        } catch (Exception e) {
+            logger.error("Error completing upload {}: {}", uploadId, e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                .body("Failed to complete upload: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{attachmentId}")
+    public void downloadAttachment(@PathVariable Long attachmentId, @AuthenticationPrincipal Jwt jwt,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Attachment attachment = attachmentRepository.findById(attachmentId).orElse(null);
+        // IDs are sequential, so an attachment the caller may not see is reported as missing
+        if (attachment == null || !attachmentService.canDownload(attachment, jwt.getSubject())) {
+            response.sendError(HttpStatus.NOT_FOUND.value(), "Attachment not found");
+            return;
+        }
+
+        long length = attachment.getSize();
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(attachment.getContentType());
+        response.setContentLengthLong(count);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename(attachment.getFileName() != null ? attachment.getFileName() : attachment.getSha256())
+            .build().toString());
+
+        Path blob = blobStore.blobPath(attachment.getSha256());
+        if (Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))) {
+            // Tomcat sends the region with sendfile(2) after this method returns
+            request.setAttribute("org.apache.tomcat.sendfile.filename", blob.toString());
+            request.setAttribute("org.apache.tomcat.sendfile.start", start);
+            request.setAttribute("org.apache.tomcat.sendfile.end", end + 1);
+            return;
+        }
+
+        try (FileChannel in = FileChannel.open(blob, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long n = in.transferTo(position, remaining, out);
+                if (n <= 0) {
+                    break;
+                }
+                position += n;
+                remaining -= n;
+            }
+        }
+    }
+}
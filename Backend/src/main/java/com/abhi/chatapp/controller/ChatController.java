@@ -1,11 +1,13 @@
 package com.abhi.chatapp.controller;
 
+import java.security.Principal;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
@@ -17,14 +19,19 @@ import org.springframework.web.bind.annotation.*;
 
 import com.abhi.chatapp.dto.ChatRequest;
 import com.abhi.chatapp.dto.MessageRequest;
+import com.abhi.chatapp.dto.ReadRequest;
+import com.abhi.chatapp.entity.Attachment;
 import com.abhi.chatapp.entity.Chat;
 import com.abhi.chatapp.entity.ChatMember;
 import com.abhi.chatapp.entity.Message;
 import com.abhi.chatapp.entity.User;
+import com.abhi.chatapp.repository.AttachmentRepository;
 import com.abhi.chatapp.repository.ChatMemberRepository;
 import com.abhi.chatapp.repository.ChatRepository;
 import com.abhi.chatapp.repository.MessageRepository;
 import com.abhi.chatapp.repository.UserRepository;
+import com.abhi.chatapp.service.InboxService;
+import com.abhi.chatapp.service.ReadStateService;
 
 @RestController
 @RequestMapping("/api")
@@ -40,9 +47,15 @@ public class ChatController {
     @Autowired
     private ChatMemberRepository chatMemberRepository;
     @Autowired
+    private AttachmentRepository attachmentRepository;
+    @Autowired
     private SimpMessagingTemplate simpMessagingTemplate;
     @Autowired
     private KafkaTemplate<String, Message> kafkaTemplate;
+    @Autowired
+    private ReadStateService readStateService;
+    @Autowired
+    private InboxService inboxService;
 
     @PostMapping("/users")
     public ResponseEntity<?> createOrUpdateUser(@AuthenticationPrincipal Jwt jwt, @RequestBody User userRequest) {
@@ -186,8 +199,43 @@ public class ChatController {
         }
     }
 
+    @GetMapping("/users/{userId}/unread")
+    public ResponseEntity<?> getUnreadCounts(@PathVariable String userId, @AuthenticationPrincipal Jwt jwt) {
+        try {
+            if (!userId.equals(jwt.getSubject())) {
+                logger.warn("User {} attempted to read the unread counts of {}", jwt.getSubject(), userId);
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body("Cannot read another user's unread counts");
+            }
+            logger.debug("Fetching unread counts for user: {}", userId);
+            return ResponseEntity.ok(readStateService.getUnreadCounts(userId));
+        } catch (Exception e) {
+            logger.error("Error fetching unread counts for user {}: {}", userId, e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                .body("Failed to get unread counts: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/users/{userId}/inbox")
+    public ResponseEntity<?> getInbox(@PathVariable String userId, @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "200") int limit, @AuthenticationPrincipal Jwt jwt) {
+        try {
+            if (!userId.equals(jwt.getSubject())) {
+                logger.warn("User {} attempted to read the inbox of {}", jwt.getSubject(), userId);
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body("Cannot read another user's inbox");
+            }
+            logger.debug("Fetching inbox for user: {} since: {}", userId, since);
+            return ResponseEntity.ok(inboxService.getInbox(userId, since, limit));
+        } catch (Exception e) {
+            logger.error("Error fetching inbox for user {}: {}", userId, e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                .body("Failed to get inbox: " + e.getMessage());
+        }
+    }
+
     @MessageMapping("/chat/{chatId}")
-    public void sendMessage(@DestinationVariable Long chatId, MessageRequest messageRequest) {
+    public void sendMessage(@DestinationVariable Long chatId, MessageRequest messageRequest, Principal principal) {
         logger.debug("Received WebSocket message for chatId: {}, senderId: {}", 
             chatId, messageRequest.getSenderId());
         
@@ -198,6 +246,13 @@ public class ChatController {
             message.setSender(userRepository.findById(messageRequest.getSenderId())
                 .orElseThrow(() -> new RuntimeException("Sender not found")));
             message.setContent(messageRequest.getContent());
+            if (messageRequest.getAttachmentId() != null) {
+                // senderId comes from the payload; only the authenticated user may attach their own uploads
+                Attachment attachment = attachmentRepository.findById(messageRequest.getAttachmentId())
+                    .filter(found -> principal != null && found.getUploaderId().equals(principal.getName()))
+                    .orElseThrow(() -> new RuntimeException("Attachment not found"));
+                message.setAttachment(attachment);
+            }
             message.setTimestamp(LocalDateTime.now());
 
             kafkaTemplate.send("message_persist", message);
@@ -211,4 +266,17 @@ public class ChatController {
                 "Failed to send message: " + e.getMessage());
         }
     }
+
+    @MessageMapping("/chat/{chatId}/read")
+    public void markRead(@DestinationVariable Long chatId, ReadRequest readRequest, Principal principal) {
+        if (principal == null) {
+            logger.warn("Ignoring read update for chat {} without an authenticated user", chatId);
+            return;
+        }
+        try {
+            readStateService.markRead(chatId, principal.getName(), readRequest.getMessageId());
+        } catch (Exception e) {
+            logger.error("Error updating read state for chat {}: {}", chatId, e.getMessage(), e);
+        }
+    }
 }
@@ -0,0 +1,17 @@
+package com.abhi.chatapp.dto;
+
+import java.util.List;
+
+import com.abhi.chatapp.entity.Message;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InboxResponse {
+    private List<Message> messages;  // Missed messages across all chats, oldest first
+    private Long nextCursor;         // Pass back as since on the next call
+}
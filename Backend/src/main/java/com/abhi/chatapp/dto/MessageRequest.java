@@ -6,4 +6,5 @@ import lombok.Data;
 public class MessageRequest {
     private String senderId;  // Auth0 user ID
     private String content;
+    private Long attachmentId;  // Optional, from a completed attachment upload
 }
@@ -0,0 +1,14 @@
+package com.abhi.chatapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadReceipt {
+    private Long chatId;
+    private String userId;
+    private Long lastReadMessageId;
+}
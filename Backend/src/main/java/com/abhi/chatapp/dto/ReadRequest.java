@@ -0,0 +1,8 @@
+package com.abhi.chatapp.dto;
+
+import lombok.Data;
+
+@Data
+public class ReadRequest {
+    private Long messageId;  // Last message seen; null means the latest persisted message
+}
@@ -0,0 +1,13 @@
+package com.abhi.chatapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconnectHint {
+    private String reason;
+    private long retryAfterMs;  // Jittered per user; the server closes the user's sessions when it expires
+}
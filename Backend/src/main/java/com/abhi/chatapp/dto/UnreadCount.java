@@ -0,0 +1,14 @@
+package com.abhi.chatapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnreadCount {
+    private Long chatId;
+    private Long lastReadMessageId;
+    private long unreadCount;
+}
@@ -0,0 +1,10 @@
+package com.abhi.chatapp.dto;
+
+import lombok.Data;
+
+@Data
+public class UploadRequest {
+    private String fileName;
+    private String contentType;
+    private long size;  // Total size in bytes
+}
@@ -0,0 +1,27 @@
+package com.abhi.chatapp.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Entity
+@Table(name = "attachments")
+@Data
+public class Attachment {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 64, nullable = false)
+    private String sha256;  // Blob key; identical content shares one blob on disk
+
+    private String fileName;
+    private String contentType;
+    private long size;
+
+    @Column(length = 50)
+    private String uploaderId;
+
+    private LocalDateTime createdAt;
+}
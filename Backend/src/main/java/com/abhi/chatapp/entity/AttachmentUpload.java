@@ -0,0 +1,25 @@
+package com.abhi.chatapp.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Entity
+@Table(name = "attachment_uploads")
+@Data
+public class AttachmentUpload {
+    @Id
+    @Column(length = 36)
+    private String id;  // Random UUID, also names the partial file
+
+    private String fileName;
+    private String contentType;
+    private long size;  // Declared total size; the received offset is the partial file's length
+
+    @Column(length = 50)
+    private String uploaderId;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime lastActivityAt;  // Bumped by every chunk; expiry is measured from here
+}
@@ -18,4 +18,6 @@ public class ChatMember {
     @ManyToOne
     @JoinColumn(name = "user_id")
     private User user;
+
+    private Long lastReadMessageId;  // Read cursor; messages in this chat with a higher ID are unread
 }
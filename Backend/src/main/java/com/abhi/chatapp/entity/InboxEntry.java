@@ -0,0 +1,25 @@
+package com.abhi.chatapp.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Entity
+@Table(name = "inbox_entries", uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "chat_id"}))
+@Data
+public class InboxEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // One pointer per recipient and chat, not one row per message
+    @Column(name = "user_id", length = 50, nullable = false)
+    private String userId;
+
+    @Column(name = "chat_id", nullable = false)
+    private Long chatId;
+
+    private LocalDateTime firstMissedAt;
+    private LocalDateTime lastMissedAt;
+}
@@ -31,6 +31,10 @@ public class Message implements Serializable {
     @JoinColumn(name = "sender_id")
     private User sender;
 
+    @ManyToOne
+    @JoinColumn(name = "attachment_id")
+    private Attachment attachment;  // Reference only; bytes live in the blob store
+
     private String content;
     private LocalDateTime timestamp;
 }
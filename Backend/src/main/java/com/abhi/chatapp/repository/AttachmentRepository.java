@@ -0,0 +1,8 @@
+package com.abhi.chatapp.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.abhi.chatapp.entity.Attachment;
+
+public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
+}
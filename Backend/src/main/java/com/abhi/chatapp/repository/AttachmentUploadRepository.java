@@ -0,0 +1,12 @@
+package com.abhi.chatapp.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.abhi.chatapp.entity.AttachmentUpload;
+
+public interface AttachmentUploadRepository extends JpaRepository<AttachmentUpload, String> {
+    List<AttachmentUpload> findByLastActivityAtBefore(LocalDateTime cutoff);
+}
@@ -0,0 +1,22 @@
+package com.abhi.chatapp.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.abhi.chatapp.entity.InboxEntry;
+
+public interface InboxEntryRepository extends JpaRepository<InboxEntry, Long> {
+    List<InboxEntry> findByUserId(String userId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM InboxEntry e WHERE e.id IN :ids AND e.lastMissedAt < :cutoff")
+    int deleteStale(@Param("ids") Collection<Long> ids, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,11 +1,22 @@
 package com.abhi.chatapp.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.abhi.chatapp.entity.Message;
 
 public interface MessageRepository extends JpaRepository<Message, Long> {
     List<Message> findByChatIdOrderByTimestampAsc(Long chatId);
+    Optional<Message> findTopByChatIdOrderByIdDesc(Long chatId);
+    long countByChatIdAndIdGreaterThan(Long chatId, Long id);
+    long countByChatId(Long chatId);
+    boolean existsByIdAndChatId(Long id, Long chatId);
+    boolean existsByAttachmentIdAndChatIdIn(Long attachmentId, Collection<Long> chatIds);
+    List<Message> findByChatIdAndIdGreaterThanAndTimestampGreaterThanEqualOrderByIdAsc(
+        Long chatId, Long id, LocalDateTime timestamp, Pageable pageable);
 }
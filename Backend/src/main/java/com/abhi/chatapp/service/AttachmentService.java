@@ -0,0 +1,130 @@
+package com.abhi.chatapp.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.abhi.chatapp.dto.UploadRequest;
+import com.abhi.chatapp.entity.Attachment;
+import com.abhi.chatapp.entity.AttachmentUpload;
+import com.abhi.chatapp.repository.AttachmentRepository;
+import com.abhi.chatapp.repository.AttachmentUploadRepository;
+import com.abhi.chatapp.repository.ChatMemberRepository;
+import com.abhi.chatapp.repository.MessageRepository;
+
+@Service
+public class AttachmentService {
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentService.class);
+
+    @Autowired
+    private BlobStore blobStore;
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+    @Autowired
+    private AttachmentUploadRepository attachmentUploadRepository;
+    @Autowired
+    private ChatMemberRepository chatMemberRepository;
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Value("${chatapp.attachments.max-size-bytes:1073741824}")
+    private long maxSizeBytes;
+
+    @Value("${chatapp.attachments.upload-expiry-hours:24}")
+    private long uploadExpiryHours;
+
+    public AttachmentUpload startUpload(UploadRequest request, String uploaderId) {
+        if (request.getSize() <= 0 || request.getSize() > maxSizeBytes) {
+            throw new IllegalArgumentException("Attachment size must be between 1 and " + maxSizeBytes + " bytes");
+        }
+        AttachmentUpload upload = new AttachmentUpload();
+        upload.setId(UUID.randomUUID().toString());
+        upload.setFileName(request.getFileName());
+        upload.setContentType(request.getContentType() != null ? request.getContentType() : "application/octet-stream");
+        upload.setSize(request.getSize());
+        upload.setUploaderId(uploaderId);
+        upload.setCreatedAt(LocalDateTime.now());
+        upload.setLastActivityAt(upload.getCreatedAt());
+        return attachmentUploadRepository.save(upload);
+    }
+
+    public AttachmentUpload getUpload(String uploadId, String uploaderId) {
+        AttachmentUpload upload = attachmentUploadRepository.findById(uploadId)
+            .orElseThrow(() -> new RuntimeException("Upload not found"));
+        if (!upload.getUploaderId().equals(uploaderId)) {
+            throw new RuntimeException("Upload not found");
+        }
+        return upload;
+    }
+
+    /**
+     * An attachment is visible to its uploader and to members of any chat with a
+     * message that references it.
+     */
+    public boolean canDownload(Attachment attachment, String userId) {
+        if (attachment.getUploaderId().equals(userId)) {
+            return true;
+        }
+        List<Long> chatIds = chatMemberRepository.findByUserId(userId).stream()
+            .map(member -> member.getChat().getId())
+            .toList();
+        return !chatIds.isEmpty() && messageRepository.existsByAttachmentIdAndChatIdIn(attachment.getId(), chatIds);
+    }
+
+    public long receivedBytes(AttachmentUpload upload) throws IOException {
+        return blobStore.partialLength(upload.getId());
+    }
+
+    public long appendChunk(AttachmentUpload upload, long offset, InputStream body) throws IOException {
+        long length = blobStore.append(upload.getId(), offset, body, upload.getSize() - offset);
+        if (length < 0) {
+            throw new IllegalArgumentException("Chunk exceeds the declared attachment size");
+        }
+        // A slow upload that keeps resuming must not be expired mid-transfer
+        upload.setLastActivityAt(LocalDateTime.now());
+        attachmentUploadRepository.save(upload);
+        return length;
+    }
+
+    public Attachment completeUpload(AttachmentUpload upload) throws IOException {
+        long received = blobStore.partialLength(upload.getId());
+        if (received != upload.getSize()) {
+            throw new IllegalArgumentException("Upload incomplete: received " + received + " of " + upload.getSize() + " bytes");
+        }
+        String sha256 = blobStore.commit(upload.getId());
+
+        Attachment attachment = new Attachment();
+        attachment.setSha256(sha256);
+        attachment.setFileName(upload.getFileName());
+        attachment.setContentType(upload.getContentType());
+        attachment.setSize(upload.getSize());
+        attachment.setUploaderId(upload.getUploaderId());
+        attachment.setCreatedAt(LocalDateTime.now());
+        attachment = attachmentRepository.save(attachment);
+        attachmentUploadRepository.delete(upload);
+        logger.debug("Completed upload {} as attachment {} ({})", upload.getId(), attachment.getId(), sha256);
+        return attachment;
+    }
+
+    @Scheduled(fixedDelayString = "${chatapp.attachments.cleanup-interval-ms:3600000}")
+    public void expireAbandonedUploads() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(uploadExpiryHours);
+        for (AttachmentUpload upload : attachmentUploadRepository.findByLastActivityAtBefore(cutoff)) {
+            try {
+                blobStore.discard(upload.getId());
+                attachmentUploadRepository.delete(upload);
+            } catch (Exception e) {
+                logger.error("Failed to expire upload {}: {}", upload.getId(), e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.abhi.chatapp.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Content-addressed blob store on local disk. Partial uploads live under
+ * {root}/uploads, finished blobs under {root}/blobs/ab/cd/{sha256}. All copies go
+ * through FileChannel with fixed-size buffers, so memory does not grow with file size.
+ */
+@Service
+public class BlobStore {
+
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+    private static final int HASH_BUFFER = 64 * 1024;
+
+    private final Path uploadsDir;
+    private final Path blobsDir;
+    private final Set<String> writing = ConcurrentHashMap.newKeySet();
+
+    public BlobStore(@Value("${chatapp.attachments.root:./data/attachments}") String root) throws IOException {
+        Path rootDir = Paths.get(root).toAbsolutePath().normalize();
+        this.uploadsDir = Files.createDirectories(rootDir.resolve("uploads"));
+        this.blobsDir = Files.createDirectories(rootDir.resolve("blobs"));
+    }
+
+    public long partialLength(String uploadId) throws IOException {
+        Path part = partPath(uploadId);
+        return Files.exists(part) ? Files.size(part) : 0;
+    }
+
+    /**
+     * Appends the stream to the partial file starting at offset, writing at most
+     * maxBytes. Returns the new length, or -1 if the stream held more than maxBytes.
+     * Throws IllegalStateException if the offset is stale or another request is
+     * writing the same upload.
+     */
+    public long append(String uploadId, long offset, InputStream body, long maxBytes) throws IOException {
+        // FileLock only excludes other processes; a second request in this JVM is caught here
+        if (!writing.add(uploadId)) {
+            throw new IllegalStateException("Upload is already being written");
+        }
+        try (FileChannel out = FileChannel.open(partPath(uploadId),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock lock = out.tryLock()) {
+            if (lock == null) {
+                throw new IllegalStateException("Upload is already being written");
+            }
+            if (out.size() != offset) {
+                throw new IllegalStateException("Expected offset " + out.size() + " but got " + offset);
+            }
+
+            ReadableByteChannel in = Channels.newChannel(body);
+            long position = offset;
+            long remaining = maxBytes;
+            while (remaining > 0) {
+                long n = out.transferFrom(in, position, Math.min(TRANSFER_CHUNK, remaining));
+                if (n <= 0) {
+                    break;
+                }
+                position += n;
+                remaining -= n;
+            }
+            if (remaining == 0 && in.read(ByteBuffer.allocate(1)) > 0) {
+                out.truncate(offset);
+                return -1;
+            }
+            out.force(false);
+            return position;
+        } finally {
+            writing.remove(uploadId);
+        }
+    }
+
+    /**
+     * Hashes the finished partial file and moves it into the blob tree. If a blob with
+     * the same hash already exists the partial file is discarded instead.
+     */
+    public String commit(String uploadId) throws IOException {
+        Path part = partPath(uploadId);
+        String sha256 = hash(part);
+        Path blob = blobPath(sha256);
+        if (Files.exists(blob)) {
+            Files.delete(part);
+        } else {
+            Files.createDirectories(blob.getParent());
+            Files.move(part, blob, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return sha256;
+    }
+
+    public void discard(String uploadId) throws IOException {
+        Files.deleteIfExists(partPath(uploadId));
+    }
+
+    public Path blobPath(String sha256) {
+        return blobsDir.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    private Path partPath(String uploadId) {
+        return uploadsDir.resolve(uploadId + ".part");
+    }
+
+    private static String hash(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(HASH_BUFFER);
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
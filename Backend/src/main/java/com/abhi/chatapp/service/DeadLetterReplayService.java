@@ -0,0 +1,138 @@
+package com.abhi.chatapp.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import com.abhi.chatapp.config.KafkaErrorHandlingConfig;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Streams message_persist.DLT back onto message_persist in batches. Values are copied
+ * as raw bytes without the DLT headers, and the replay group's offsets are committed
+ * only after the batch has been acknowledged, so a crash mid-replay never loses records.
+ * A run stops at the DLT end offsets it saw when it started.
+ */
+@Service
+public class DeadLetterReplayService {
+    private static final Logger logger = LoggerFactory.getLogger(DeadLetterReplayService.class);
+
+    private static final String REPLAY_GROUP = "chatapp-dlt-replay";
+    private static final int MAX_EMPTY_POLLS = 3;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Autowired
+    private KafkaProperties kafkaProperties;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public int replay(int maxRecords, int batchSize) throws Exception {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A dead-letter replay is already running");
+        }
+        DefaultKafkaProducerFactory<String, byte[]> producerFactory = new DefaultKafkaProducerFactory<>(
+            kafkaProperties.buildProducerProperties(null), new StringSerializer(), new ByteArraySerializer());
+        try (KafkaConsumer<String, byte[]> consumer = new KafkaConsumer<>(consumerProperties(batchSize))) {
+            KafkaTemplate<String, byte[]> template = new KafkaTemplate<>(producerFactory);
+
+            List<PartitionInfo> partitions = consumer.partitionsFor(KafkaErrorHandlingConfig.DEAD_LETTER_TOPIC);
+            if (partitions == null || partitions.isEmpty()) {
+                return 0;
+            }
+            List<TopicPartition> assigned = partitions.stream()
+                .map(partition -> new TopicPartition(partition.topic(), partition.partition()))
+                .toList();
+            // Manual assignment skips the group rebalance; committed offsets still apply
+            consumer.assign(assigned);
+            // Records that fail again are dead-lettered behind these offsets; stop here so they are not replayed in a loop
+            Map<TopicPartition, Long> endOffsets = new HashMap<>(consumer.endOffsets(assigned));
+
+            int replayed = 0;
+            int emptyPolls = 0;
+            while (replayed < maxRecords && emptyPolls < MAX_EMPTY_POLLS && !caughtUp(consumer, endOffsets)) {
+                ConsumerRecords<String, byte[]> records = consumer.poll(Duration.ofSeconds(1));
+                if (records.isEmpty()) {
+                    emptyPolls++;
+                    continue;
+                }
+                emptyPolls = 0;
+
+                List<CompletableFuture<?>> sends = new ArrayList<>();
+                Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+                for (ConsumerRecord<String, byte[]> record : records) {
+                    if (replayed == maxRecords) {
+                        break;
+                    }
+                    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                    Long end = endOffsets.get(partition);
+                    if (end == null || record.offset() >= end) {
+                        continue;
+                    }
+                    sends.add(template.send(KafkaErrorHandlingConfig.PERSIST_TOPIC, record.key(), record.value()));
+                    offsets.put(partition, new OffsetAndMetadata(record.offset() + 1));
+                    replayed++;
+                }
+                if (sends.isEmpty()) {
+                    continue;
+                }
+                CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+                consumer.commitSync(offsets);
+                meterRegistry.counter("chatapp.persist.dlt.replayed").increment(sends.size());
+                logger.warn("Replayed {} dead-lettered records ({} total)", sends.size(), replayed);
+            }
+            return replayed;
+        } finally {
+            producerFactory.destroy();
+            running.set(false);
+        }
+    }
+
+    // Pauses partitions that reached their starting end offset; true once all have
+    private static boolean caughtUp(KafkaConsumer<String, byte[]> consumer, Map<TopicPartition, Long> endOffsets) {
+        endOffsets.entrySet().removeIf(entry -> {
+            if (consumer.position(entry.getKey()) < entry.getValue()) {
+                return false;
+            }
+            consumer.pause(List.of(entry.getKey()));
+            return true;
+        });
+        return endOffsets.isEmpty();
+    }
+
+    private Map<String, Object> consumerProperties(int batchSize) {
+        Map<String, Object> props = kafkaProperties.buildConsumerProperties(null);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, REPLAY_GROUP);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchSize);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        return props;
+    }
+}
@@ -0,0 +1,191 @@
+package com.abhi.chatapp.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpSession;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.abhi.chatapp.dto.ReconnectHint;
+import com.abhi.chatapp.entity.Message;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Drains the instance before shutdown: refuse new CONNECTs, close connected sessions
+ * on a jittered schedule (hinting each user first), flush Kafka, then let the context
+ * stop normally.
+ */
+@Service
+public class DrainService {
+    private static final Logger logger = LoggerFactory.getLogger(DrainService.class);
+
+    private record ScheduledClose(WebSocketSession session, long delayMs) {}
+
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    private volatile boolean draining;
+    private Counter connects;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+    @Autowired
+    @Lazy
+    private SimpMessagingTemplate simpMessagingTemplate;
+    @Autowired
+    @Lazy
+    private SimpUserRegistry simpUserRegistry;
+    @Autowired
+    private KafkaTemplate<String, Message> kafkaTemplate;
+    @Autowired
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${chatapp.drain.reconnect-min-delay-ms:1000}")
+    private long reconnectMinDelayMs;
+    @Value("${chatapp.drain.reconnect-max-delay-ms:15000}")
+    private long reconnectMaxDelayMs;
+
+    @PostConstruct
+    void registerMetrics() {
+        // On the instances that stay up, the rate of this counter is the reconnect spread
+        connects = Counter.builder("chatapp.websocket.connects")
+            .description("WebSocket sessions opened")
+            .register(meterRegistry);
+        Gauge.builder("chatapp.websocket.sessions", sessions, Map::size).register(meterRegistry);
+    }
+
+    public boolean isDraining() {
+        return draining;
+    }
+
+    public void sessionOpened(WebSocketSession session) {
+        sessions.put(session.getId(), session);
+        connects.increment();
+    }
+
+    public void sessionClosed(WebSocketSession session) {
+        sessions.remove(session.getId());
+    }
+
+    // ContextClosedEvent fires before any lifecycle bean stops, so sessions and Kafka are still live here
+    @EventListener(ContextClosedEvent.class)
+    public void drain() {
+        if (draining) {
+            return;
+        }
+        draining = true;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        AvailabilityChangeEvent.publish(applicationContext, ReadinessState.REFUSING_TRAFFIC);
+        logger.warn("Draining: refusing new WebSocket connections");
+
+        closeSessionsStaggered();
+
+        try {
+            kafkaTemplate.flush();
+            logger.warn("Draining: flushed pending Kafka sends");
+        } catch (Exception e) {
+            logger.error("Draining: failed to flush Kafka producer: {}", e.getMessage(), e);
+        }
+
+        // Stopping the containers finishes the in-flight batch and commits its offsets
+        kafkaListenerEndpointRegistry.stop();
+        logger.warn("Draining: stopped Kafka listeners");
+
+        sample.stop(meterRegistry.timer("chatapp.drain.duration"));
+    }
+
+    /**
+     * Gives each user one jittered delay, sends it as a hint, then closes that user's
+     * sessions when it expires. Clients reconnect a fixed interval after the close, so
+     * the close schedule is what spreads reconnects across the surviving instances.
+     */
+    private void closeSessionsStaggered() {
+        Map<String, String> userBySession = new HashMap<>();
+        for (SimpUser user : simpUserRegistry.getUsers()) {
+            for (SimpSession session : user.getSessions()) {
+                userBySession.put(session.getId(), user.getName());
+            }
+        }
+
+        Map<String, Long> delayByUser = new HashMap<>();
+        List<ScheduledClose> closes = new ArrayList<>();
+        for (WebSocketSession session : sessions.values()) {
+            String userName = userBySession.get(session.getId());
+            // Sessions that never completed a STOMP CONNECT get their own slot
+            long delay = userName != null
+                ? delayByUser.computeIfAbsent(userName, name -> jitteredDelay())
+                : jitteredDelay();
+            closes.add(new ScheduledClose(session, delay));
+        }
+
+        int hinted = 0;
+        for (Map.Entry<String, Long> entry : delayByUser.entrySet()) {
+            try {
+                simpMessagingTemplate.convertAndSend("/topic/user/" + entry.getKey() + "/reconnect",
+                    new ReconnectHint("server-draining", entry.getValue()));
+                hinted++;
+            } catch (Exception e) {
+                logger.error("Draining: failed to send reconnect hint to {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+        logger.warn("Draining: sent reconnect hints to {} users, closing {} sessions over {} ms",
+            hinted, closes.size(), reconnectMaxDelayMs);
+
+        Timer closedAfter = Timer.builder("chatapp.drain.session.closed")
+            .description("Time from the start of the drain until each WebSocket session was closed")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        closes.sort(Comparator.comparingLong(ScheduledClose::delayMs));
+        long startNanos = System.nanoTime();
+        for (ScheduledClose close : closes) {
+            long waitMs = close.delayMs() - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            if (waitMs > 0) {
+                try {
+                    Thread.sleep(waitMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    logger.warn("Draining: interrupted, leaving remaining sessions to the container");
+                    return;
+                }
+            }
+            try {
+                close.session().close(CloseStatus.GOING_AWAY);
+            } catch (Exception e) {
+                logger.debug("Draining: failed to close session {}: {}", close.session().getId(), e.getMessage());
+            }
+            closedAfter.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private long jitteredDelay() {
+        return ThreadLocalRandom.current().nextLong(reconnectMinDelayMs, reconnectMaxDelayMs + 1);
+    }
+}
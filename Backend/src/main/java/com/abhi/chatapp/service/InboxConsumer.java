@@ -0,0 +1,65 @@
+package com.abhi.chatapp.service;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import com.abhi.chatapp.entity.ChatMember;
+import com.abhi.chatapp.entity.Message;
+import com.abhi.chatapp.entity.User;
+import com.abhi.chatapp.repository.ChatMemberRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Fans message_persist out to the inbox of every member except the sender, in its own
+ * consumer group so it never holds up persistence. Each write only bumps the
+ * (user, chat) pointer row; the message itself is read from the messages table.
+ * Presence is not consulted: by the time a record is consumed it no longer says who
+ * was connected at broadcast, and the client's since cursor drops what it already has.
+ */
+@Service
+public class InboxConsumer {
+
+    private static final String UPSERT_POINTER_SQL =
+        "INSERT INTO inbox_entries (user_id, chat_id, first_missed_at, last_missed_at) VALUES (?, ?, ?, ?) "
+        + "ON DUPLICATE KEY UPDATE last_missed_at = GREATEST(last_missed_at, VALUES(last_missed_at))";
+
+    @Autowired
+    private ChatMemberRepository chatMemberRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @KafkaListener(topics = "message_persist", groupId = "chatapp-inbox")
+    public void consume(Message message) {
+        if (message.getChat() == null || message.getTimestamp() == null) {
+            return;
+        }
+        Long chatId = message.getChat().getId();
+        String senderId = message.getSender() != null ? message.getSender().getId() : null;
+
+        List<String> recipients = chatMemberRepository.findByChatId(chatId).stream()
+            .map(ChatMember::getUser)
+            .map(User::getId)
+            .filter(userId -> !userId.equals(senderId))
+            .toList();
+        if (recipients.isEmpty()) {
+            return;
+        }
+
+        Timestamp missedAt = Timestamp.valueOf(message.getTimestamp());
+        jdbcTemplate.batchUpdate(UPSERT_POINTER_SQL, recipients, recipients.size(), (ps, userId) -> {
+            ps.setString(1, userId);
+            ps.setLong(2, chatId);
+            ps.setTimestamp(3, missedAt);
+            ps.setTimestamp(4, missedAt);
+        });
+        meterRegistry.counter("chatapp.inbox.pointers").increment(recipients.size());
+    }
+}
@@ -0,0 +1,66 @@
+package com.abhi.chatapp.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.abhi.chatapp.dto.InboxResponse;
+import com.abhi.chatapp.entity.InboxEntry;
+import com.abhi.chatapp.entity.Message;
+import com.abhi.chatapp.repository.InboxEntryRepository;
+import com.abhi.chatapp.repository.MessageRepository;
+
+@Service
+public class InboxService {
+
+    @Autowired
+    private InboxEntryRepository inboxEntryRepository;
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Value("${chatapp.inbox.max-page-size:500}")
+    private int maxPageSize;
+
+    // Persistence runs in another consumer group and may lag the inbox pointer by this much
+    @Value("${chatapp.inbox.prune-grace-seconds:300}")
+    private long pruneGraceSeconds;
+
+    /**
+     * Returns missed messages with an ID above since, across every chat that has an
+     * inbox pointer, oldest first. Pointers whose chats have nothing past the cursor
+     * and have not moved recently are deleted, since the client has caught up on them.
+     */
+    public InboxResponse getInbox(String userId, long since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+        LocalDateTime pruneBefore = LocalDateTime.now().minusSeconds(pruneGraceSeconds);
+
+        List<Message> messages = new ArrayList<>();
+        List<Long> caughtUp = new ArrayList<>();
+        for (InboxEntry entry : inboxEntryRepository.findByUserId(userId)) {
+            List<Message> missed = messageRepository.findByChatIdAndIdGreaterThanAndTimestampGreaterThanEqualOrderByIdAsc(
+                entry.getChatId(), since, entry.getFirstMissedAt(), PageRequest.of(0, pageSize));
+            if (missed.isEmpty() && entry.getLastMissedAt().isBefore(pruneBefore)) {
+                caughtUp.add(entry.getId());
+            }
+            messages.addAll(missed);
+        }
+        if (!caughtUp.isEmpty()) {
+            // Re-checked in the DELETE: a pointer the consumer bumped since the read above survives
+            inboxEntryRepository.deleteStale(caughtUp, pruneBefore);
+        }
+
+        // Merge the per-chat pages and keep one global page so the cursor never skips a message
+        messages.sort(Comparator.comparing(Message::getId));
+        if (messages.size() > pageSize) {
+            messages = new ArrayList<>(messages.subList(0, pageSize));
+        }
+        long nextCursor = messages.isEmpty() ? since : messages.get(messages.size() - 1).getId();
+        return new InboxResponse(messages, nextCursor);
+    }
+}
@@ -13,8 +13,14 @@ public class MessageConsumer {
     @Autowired
     private MessageRepository messageRepository;
 
-    @KafkaListener(topics = "message_persist", groupId ="chatapp")
+    @Autowired
+    private PersistenceCircuitBreaker circuitBreaker;
+
+    // Failures are retried with back-off and dead-lettered by persistListenerContainerFactory
+    @KafkaListener(id = PersistenceCircuitBreaker.LISTENER_ID, topics = "message_persist", groupId ="chatapp",
+            containerFactory = "persistListenerContainerFactory")
     public void consume (Message message) {
         messageRepository.save(message);
+        circuitBreaker.recordSuccess();
     }
 }
@@ -0,0 +1,119 @@
+package com.abhi.chatapp.service;
+
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Pauses the persistence listener while the database is unreachable instead of
+ * letting it spin through retries. After a cooldown the listener resumes (half-open);
+ * a success closes the breaker, another outage re-opens it with a longer cooldown.
+ */
+@Service
+public class PersistenceCircuitBreaker {
+    private static final Logger logger = LoggerFactory.getLogger(PersistenceCircuitBreaker.class);
+
+    public static final String LISTENER_ID = "message-persist";
+
+    private final AtomicInteger consecutiveTrips = new AtomicInteger();
+    private volatile boolean open;
+    private long pausedSinceNanos;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+    @Autowired
+    @Qualifier("taskScheduler")
+    private TaskScheduler taskScheduler;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${chatapp.persist.breaker.initial-cooldown-ms:5000}")
+    private long initialCooldownMs;
+    @Value("${chatapp.persist.breaker.max-cooldown-ms:120000}")
+    private long maxCooldownMs;
+
+    private Timer pausedTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        pausedTimer = meterRegistry.timer("chatapp.persist.paused");
+        Gauge.builder("chatapp.persist.breaker.open", this, breaker -> breaker.isOpen() ? 1 : 0)
+            .register(meterRegistry);
+    }
+
+    public boolean isOpen() {
+        return open;
+    }
+
+    public boolean isOutage(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof SQLTransientException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public synchronized void trip(Throwable cause) {
+        if (open) {
+            return;
+        }
+        MessageListenerContainer container = kafkaListenerEndpointRegistry.getListenerContainer(LISTENER_ID);
+        if (container == null) {
+            return;
+        }
+        open = true;
+        pausedSinceNanos = System.nanoTime();
+        container.pause();
+
+        int trips = consecutiveTrips.getAndIncrement();
+        long cooldownMs = Math.min(initialCooldownMs << Math.min(trips, 16), maxCooldownMs);
+        taskScheduler.schedule(this::halfOpen, Instant.now().plus(Duration.ofMillis(cooldownMs)));
+        meterRegistry.counter("chatapp.persist.breaker.trips").increment();
+        logger.error("Database unavailable, pausing message persistence for {} ms: {}", cooldownMs, cause.getMessage());
+    }
+
+    // The hot path only touches a single atomic when the breaker has tripped before
+    public void recordSuccess() {
+        if (consecutiveTrips.get() != 0) {
+            consecutiveTrips.set(0);
+            logger.warn("Message persistence recovered");
+        }
+    }
+
+    synchronized void halfOpen() {
+        if (!open) {
+            return;
+        }
+        open = false;
+        pausedTimer.record(System.nanoTime() - pausedSinceNanos, TimeUnit.NANOSECONDS);
+        MessageListenerContainer container = kafkaListenerEndpointRegistry.getListenerContainer(LISTENER_ID);
+        if (container != null && container.isRunning()) {
+            container.resume();
+            logger.warn("Resuming message persistence to probe the database");
+        }
+    }
+}
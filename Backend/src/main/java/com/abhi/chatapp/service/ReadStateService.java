@@ -0,0 +1,180 @@
+package com.abhi.chatapp.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.abhi.chatapp.dto.ReadReceipt;
+import com.abhi.chatapp.dto.UnreadCount;
+import com.abhi.chatapp.entity.ChatMember;
+import com.abhi.chatapp.entity.Message;
+import com.abhi.chatapp.repository.ChatMemberRepository;
+import com.abhi.chatapp.repository.MessageRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Tracks per-member read cursors. Updates are coalesced in memory (only the highest
+ * message ID per member survives) and written to chat_members in one JDBC batch per
+ * flush; receipts are broadcast after the flush, off the inbound message path.
+ * Client IDs are only trusted after the flush has checked them against the chat.
+ */
+@Service
+public class ReadStateService {
+    private static final Logger logger = LoggerFactory.getLogger(ReadStateService.class);
+
+    private static final String UPDATE_CURSOR_SQL =
+        "UPDATE chat_members SET last_read_message_id = ? "
+        + "WHERE chat_id = ? AND user_id = ? AND (last_read_message_id IS NULL OR last_read_message_id < ?)";
+
+    // Stands in for "newest persisted message"; resolved once per chat at flush time
+    private static final long LATEST = Long.MAX_VALUE;
+
+    private record ReadKey(Long chatId, String userId) {}
+
+    private final ConcurrentHashMap<ReadKey, Long> pending = new ConcurrentHashMap<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ChatMemberRepository chatMemberRepository;
+    @Autowired
+    private MessageRepository messageRepository;
+    @Autowired
+    private SimpMessagingTemplate simpMessagingTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter received;
+    private Counter flushed;
+    private Counter rejected;
+
+    @PostConstruct
+    void registerMetrics() {
+        received = meterRegistry.counter("chatapp.readstate.updates", "stage", "received");
+        flushed = meterRegistry.counter("chatapp.readstate.updates", "stage", "flushed");
+        rejected = meterRegistry.counter("chatapp.readstate.updates", "stage", "rejected");
+        meterRegistry.gaugeMapSize("chatapp.readstate.pending", Tags.empty(), pending);
+    }
+
+    public void markRead(Long chatId, String userId, Long messageId) {
+        // Live messages are broadcast before they are persisted, so a missing ID means "read to the end"
+        long requested = messageId != null ? messageId : LATEST;
+        if (requested <= 0) {
+            return;
+        }
+        pending.merge(new ReadKey(chatId, userId), requested, Math::max);
+        received.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${chatapp.readstate.flush-interval-ms:2000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<ReadReceipt> batch = new ArrayList<>(pending.size());
+        Map<Long, Long> latestByChat = new HashMap<>();
+        for (ReadKey key : pending.keySet()) {
+            // A concurrent merge after this remove lands in the next flush
+            Long requested = pending.remove(key);
+            if (requested == null) {
+                continue;
+            }
+            Long messageId = resolve(key.chatId(), requested, latestByChat);
+            if (messageId != null) {
+                batch.add(new ReadReceipt(key.chatId(), key.userId(), messageId));
+            } else {
+                rejected.increment();
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            int[][] counts = jdbcTemplate.batchUpdate(UPDATE_CURSOR_SQL, batch, batch.size(), (ps, receipt) -> {
+                ps.setLong(1, receipt.getLastReadMessageId());
+                ps.setLong(2, receipt.getChatId());
+                ps.setString(3, receipt.getUserId());
+                ps.setLong(4, receipt.getLastReadMessageId());
+            });
+            flushed.increment(batch.size());
+            logger.debug("Flushed {} read cursors", batch.size());
+
+            int[] updated = counts.length > 0 ? counts[0] : new int[0];
+            for (int i = 0; i < batch.size(); i++) {
+                // 0 means not a member or the cursor was already ahead; nothing to announce
+                if (i < updated.length && updated[i] == 0) {
+                    continue;
+                }
+                ReadReceipt receipt = batch.get(i);
+                simpMessagingTemplate.convertAndSend("/topic/chat/" + receipt.getChatId() + "/read", receipt);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to flush {} read cursors: {}", batch.size(), e.getMessage(), e);
+            for (ReadReceipt receipt : batch) {
+                pending.merge(new ReadKey(receipt.getChatId(), receipt.getUserId()),
+                    receipt.getLastReadMessageId(), Math::max);
+            }
+        }
+    }
+
+    /**
+     * Caps the requested ID at the newest message in the chat and drops IDs below it
+     * that belong to another chat. The UPDATE never moves a cursor back, so a bogus ID
+     * that got through would hide that chat's unread messages for good.
+     */
+    private Long resolve(Long chatId, long requested, Map<Long, Long> latestByChat) {
+        Long latest = latestByChat.computeIfAbsent(chatId, id -> messageRepository.findTopByChatIdOrderByIdDesc(id)
+            .map(Message::getId)
+            .orElse(0L));
+        if (latest == 0L) {
+            return null;
+        }
+        if (requested >= latest) {
+            return latest;
+        }
+        return messageRepository.existsByIdAndChatId(requested, chatId) ? requested : null;
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    public List<UnreadCount> getUnreadCounts(String userId) {
+        List<UnreadCount> result = new ArrayList<>();
+        for (ChatMember member : chatMemberRepository.findByUserId(userId)) {
+            Long chatId = member.getChat().getId();
+            Long cursor = member.getLastReadMessageId();
+            Long unflushed = pending.get(new ReadKey(chatId, userId));
+            if (unflushed != null && unflushed == LATEST) {
+                result.add(new UnreadCount(chatId, cursor, 0));
+                continue;
+            }
+            if (unflushed != null && (cursor == null || unflushed > cursor)) {
+                cursor = unflushed;
+            }
+            // The chat_id foreign key index carries the primary key, so this is a range scan past the cursor
+            long unread = cursor == null
+                ? messageRepository.countByChatId(chatId)
+                : messageRepository.countByChatIdAndIdGreaterThan(chatId, cursor);
+            result.add(new UnreadCount(chatId, cursor, unread));
+        }
+        return result;
+    }
+}
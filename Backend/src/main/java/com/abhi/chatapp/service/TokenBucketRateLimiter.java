@@ -0,0 +1,84 @@
+package com.abhi.chatapp.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Keyed token-bucket limiter.
+ *
+ * Each bucket is a single AtomicLong holding the theoretical arrival time of the
+ * next request (GCRA form of a token bucket), so a check is one read and one CAS
+ * with no locks shared between keys.
+ */
+public class TokenBucketRateLimiter {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier nanoClock;
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burstCapacity) {
+        this(permitsPerSecond, burstCapacity, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double permitsPerSecond, int burstCapacity, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burstCapacity < 1) {
+            throw new IllegalArgumentException("Rate and burst capacity must be positive");
+        }
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * burstCapacity;
+        this.nanoClock = nanoClock;
+    }
+
+    public boolean tryAcquire(String key) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            // Only the first request for a key touches the map's bin lock
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        }
+
+        long now = nanoClock.getAsLong();
+        while (true) {
+            long tat = bucket.get();
+            long start = tat == Long.MIN_VALUE || tat - now < 0 ? now : tat;
+            long next = start + emissionIntervalNanos;
+            if (next - now > burstToleranceNanos) {
+                return false;
+            }
+            if (bucket.compareAndSet(tat, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Hands back a permit taken by tryAcquire, for callers that consume from several
+     * limiters and have to undo the earlier ones when a later one rejects.
+     */
+    public void release(String key) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            bucket.getAndUpdate(tat -> tat == Long.MIN_VALUE ? tat : tat - emissionIntervalNanos);
+        }
+    }
+
+    /**
+     * Drops buckets that have fully refilled. A missing bucket behaves exactly
+     * like a full one, so this only bounds memory and never changes decisions.
+     */
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int before = buckets.size();
+        buckets.entrySet().removeIf(entry -> {
+            long tat = entry.getValue().get();
+            return tat == Long.MIN_VALUE || tat - now <= 0;
+        });
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,91 @@
+package com.abhi.chatapp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.stereotype.Component;
+
+import com.abhi.chatapp.entity.Message;
+import com.abhi.chatapp.repository.ChatRepository;
+import com.abhi.chatapp.repository.MessageRepository;
+import com.abhi.chatapp.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Primes JWKS, the JDBC pool, Hibernate and the Kafka producer before the instance
+ * reports ready. Runners complete before readiness flips to ACCEPTING_TRAFFIC.
+ */
+@Component
+public class WarmupRunner implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(WarmupRunner.class);
+
+    // Well-formed RS256 token with an unknown kid: decoding it forces the JWK set fetch, then fails verification
+    private static final String WARMUP_TOKEN = encode("{\"alg\":\"RS256\",\"typ\":\"JWT\",\"kid\":\"warmup\"}")
+        + "." + encode("{\"sub\":\"warmup\"}") + ".AA";
+
+    @Autowired
+    private JwtDecoder jwtDecoder;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ChatRepository chatRepository;
+    @Autowired
+    private MessageRepository messageRepository;
+    @Autowired
+    private KafkaTemplate<String, Message> kafkaTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${chatapp.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        step("jwks", () -> {
+            try {
+                jwtDecoder.decode(WARMUP_TOKEN);
+            } catch (JwtException expected) {
+                // The signature never verifies; the JWK set is cached by now
+            }
+        });
+        step("database", () -> {
+            // Primary-key probes for IDs that never exist: one index lookup each, unlike count()
+            userRepository.existsById("warmup");
+            chatRepository.existsById(-1L);
+            messageRepository.existsById(-1L);
+        });
+        step("kafka", () -> kafkaTemplate.partitionsFor("message_persist"));
+
+        long nanos = sample.stop(meterRegistry.timer("chatapp.startup.warmup"));
+        logger.warn("Warmup finished in {} ms", nanos / 1_000_000);
+    }
+
+    private void step(String name, Runnable action) {
+        try {
+            action.run();
+        } catch (Exception e) {
+            // A failed warmup step must not block startup; the first real request pays instead
+            logger.error("Warmup step {} failed: {}", name, e.getMessage());
+        }
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
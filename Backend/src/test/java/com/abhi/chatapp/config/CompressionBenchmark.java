@@ -0,0 +1,188 @@
+package com.abhi.chatapp.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.kafka.common.record.CompressionType;
+import org.apache.kafka.common.record.MemoryRecords;
+import org.apache.kafka.common.record.MemoryRecordsBuilder;
+import org.apache.kafka.common.record.TimestampType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.unit.DataSize;
+
+import com.abhi.chatapp.entity.Chat;
+import com.abhi.chatapp.entity.Message;
+import com.abhi.chatapp.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Manual benchmark for the compression settings in application.properties; not part
+ * of the test suite. Measures the codecs as configured: gzip on a getChatMessages
+ * response (skipped below server.compression.min-response-size), Tomcat-style
+ * permessage-deflate over a run of STOMP frames, and a Kafka record batch with
+ * spring.kafka.producer.compression-type against an uncompressed one.
+ *
+ * Run main() from the IDE, or after mvn test-compile with the test classpath.
+ */
+public class CompressionBenchmark {
+
+    private static final int ITERATIONS = 500;
+
+    private static final String[] PHRASES = {
+        "hey, are you around?", "sounds good", "let me check and get back to you",
+        "can we move the standup to 10:30 tomorrow?", "lol", "ok",
+        "I pushed the fix, the build should be green in a few minutes",
+        "did anyone look at the dashboard this morning? latency spiked around 9",
+        "thanks!", "see you there"
+    };
+
+    public static void main(String[] args) throws Exception {
+        Properties config = new Properties();
+        try (InputStream in = CompressionBenchmark.class.getResourceAsStream("/application.properties")) {
+            config.load(in);
+        }
+        long minResponseSize = DataSize.parse(config.getProperty("server.compression.min-response-size", "2KB")).toBytes();
+        CompressionType kafkaCodec = CompressionType.forName(config.getProperty("spring.kafka.producer.compression-type", "none"));
+
+        // Same serialization settings Spring Boot applies to REST responses
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        List<Message> history = history(500);
+
+        byte[] response = objectMapper.writeValueAsBytes(history);
+        measure("rest gzip, history", response.length, () -> response.length < minResponseSize
+            ? response.length : gzip(response));
+        byte[] single = objectMapper.writeValueAsBytes(List.of(history.get(0)));
+        measure("rest gzip, 1 message", single.length, () -> single.length < minResponseSize
+            ? single.length : gzip(single));
+
+        List<byte[]> frames = new ArrayList<>();
+        int frameBytes = 0;
+        for (Message message : history.subList(0, 100)) {
+            byte[] frame = stompFrame(message.getChat().getId(), objectMapper.writeValueAsBytes(message));
+            frames.add(frame);
+            frameBytes += frame.length;
+        }
+        measure("ws deflate, 100 frames", frameBytes, () -> permessageDeflate(frames));
+
+        List<byte[]> records = new ArrayList<>();
+        try (JsonSerializer<Message> serializer = new JsonSerializer<>()) {
+            for (Message message : history.subList(0, 100)) {
+                records.add(serializer.serialize("message_persist", message));
+            }
+        }
+        int plainBatch = kafkaBatch(records, CompressionType.NONE);
+        measure("kafka " + kafkaCodec.name + ", 100 records", plainBatch, () -> kafkaBatch(records, kafkaCodec));
+    }
+
+    private static void measure(String label, int rawBytes, Supplier<Integer> codec) {
+        int size = codec.get();
+        for (int i = 0; i < ITERATIONS; i++) {
+            codec.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            codec.get();
+        }
+        long micros = (System.nanoTime() - start) / ITERATIONS / 1000;
+        System.out.printf("%-26s raw=%7d B wire=%7d B ratio=%5.2f cpu=%5d us/op%n",
+            label, rawBytes, size, (double) rawBytes / size, micros);
+    }
+
+    private static int gzip(byte[] input) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(input);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.size();
+    }
+
+    // Mirrors Tomcat's PerMessageDeflate defaults: raw deflate, context takeover, sync flush per frame
+    private static int permessageDeflate(List<byte[]> frames) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        byte[] buffer = new byte[8192];
+        int total = 0;
+        try {
+            for (byte[] frame : frames) {
+                deflater.setInput(frame);
+                int n;
+                do {
+                    n = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    total += n;
+                } while (n == buffer.length);
+                // The 0x00 0x00 0xff 0xff flush marker is stripped from every message
+                total -= 4;
+            }
+        } finally {
+            deflater.end();
+        }
+        return total;
+    }
+
+    private static int kafkaBatch(List<byte[]> values, CompressionType codec) {
+        MemoryRecordsBuilder builder = MemoryRecords.builder(ByteBuffer.allocate(256 * 1024), codec,
+            TimestampType.CREATE_TIME, 0L);
+        long timestamp = System.currentTimeMillis();
+        for (byte[] value : values) {
+            builder.append(timestamp, null, value);
+        }
+        return builder.build().sizeInBytes();
+    }
+
+    private static byte[] stompFrame(Long chatId, byte[] body) {
+        String headers = "MESSAGE\ndestination:/topic/chat/" + chatId
+            + "\ncontent-type:application/json\nsubscription:sub-0\nmessage-id:a1b2c3d4-0\ncontent-length:"
+            + body.length + "\n\n";
+        byte[] head = headers.getBytes(StandardCharsets.UTF_8);
+        byte[] frame = new byte[head.length + body.length + 1];
+        System.arraycopy(head, 0, frame, 0, head.length);
+        System.arraycopy(body, 0, frame, head.length, body.length);
+        return frame;
+    }
+
+    private static List<Message> history(int size) {
+        Chat chat = new Chat();
+        chat.setId(42L);
+        chat.setType("GROUP");
+        chat.setName("Platform Team");
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            User user = new User();
+            user.setId("auth0|6650c1f2a9b8e7d6c5b4a3" + i);
+            user.setEmail("member" + i + "@example.com");
+            user.setName("Member " + i);
+            users.add(user);
+        }
+
+        Random random = new Random(7);
+        LocalDateTime time = LocalDateTime.of(2024, 3, 1, 9, 0);
+        List<Message> messages = new ArrayList<>();
+        for (long i = 1; i <= size; i++) {
+            Message message = new Message();
+            message.setId(i);
+            message.setChat(chat);
+            message.setSender(users.get(random.nextInt(users.size())));
+            message.setContent(PHRASES[random.nextInt(PHRASES.length)]);
+            message.setTimestamp(time.plusSeconds(i * 37));
+            messages.add(message);
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,115 @@
+package com.abhi.chatapp.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.security.Principal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class RateLimitInterceptorTest {
+
+    private final MessageChannel channel = mock(MessageChannel.class);
+
+    private SimpleMeterRegistry meterRegistry;
+    private SimpMessagingTemplate simpMessagingTemplate;
+    private RateLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        simpMessagingTemplate = mock(SimpMessagingTemplate.class);
+        // Refill is one permit per second, so nothing refills within a test
+        interceptor = new RateLimitInterceptor(meterRegistry, true, 1, 2, 1, 3, 1, 2);
+        ReflectionTestUtils.setField(interceptor, "simpMessagingTemplate", simpMessagingTemplate);
+    }
+
+    @Test
+    void chatIdFromDestination_ShouldMatchOnlyChatSends() {
+        assertEquals("42", RateLimitInterceptor.chatIdFromDestination("/app/chat/42"));
+        assertNull(RateLimitInterceptor.chatIdFromDestination("/app/chat/"));
+        assertNull(RateLimitInterceptor.chatIdFromDestination("/app/chat/42/read"));
+        assertNull(RateLimitInterceptor.chatIdFromDestination("/app/other/42"));
+        assertNull(RateLimitInterceptor.chatIdFromDestination(null));
+    }
+
+    @Test
+    void preSend_ShouldThrottlePerUserAndNotifySender() {
+        assertNotNull(interceptor.preSend(send("alice", "/app/chat/1"), channel));
+        assertNotNull(interceptor.preSend(send("alice", "/app/chat/2"), channel));
+        assertNull(interceptor.preSend(send("alice", "/app/chat/3"), channel));
+
+        assertEquals(1.0, meterRegistry.get("chatapp.ratelimit.throttled").tag("scope", "user").counter().count());
+        verify(simpMessagingTemplate).convertAndSend(eq("/topic/user/alice/error"), anyString());
+    }
+
+    @Test
+    void preSend_ShouldNotChargeUserWhenChatBucketRejects() {
+        interceptor.preSend(send("alice", "/app/chat/1"), channel);
+        interceptor.preSend(send("bob", "/app/chat/1"), channel);
+        interceptor.preSend(send("carol", "/app/chat/1"), channel);
+
+        assertNull(interceptor.preSend(send("dave", "/app/chat/1"), channel));
+        assertEquals(1.0, meterRegistry.get("chatapp.ratelimit.throttled").tag("scope", "chat").counter().count());
+
+        // Dave's rejected message did not spend either of his two permits
+        assertNotNull(interceptor.preSend(send("dave", "/app/chat/2"), channel));
+        assertNotNull(interceptor.preSend(send("dave", "/app/chat/3"), channel));
+    }
+
+    @Test
+    void preSend_ShouldThrottleReadUpdatesSeparately() {
+        assertTrue(RateLimitInterceptor.isReadDestination("/app/chat/1/read"));
+        assertFalse(RateLimitInterceptor.isReadDestination("/app/chat//read"));
+        assertFalse(RateLimitInterceptor.isReadDestination("/app/chat/1"));
+
+        // Made-up chat IDs still draw from the sender's read bucket
+        assertNotNull(interceptor.preSend(send("alice", "/app/chat/1/read"), channel));
+        assertNotNull(interceptor.preSend(send("alice", "/app/chat/999/read"), channel));
+        assertNull(interceptor.preSend(send("alice", "/app/chat/1000/read"), channel));
+        assertEquals(1.0, meterRegistry.get("chatapp.ratelimit.throttled").tag("scope", "read").counter().count());
+
+        // Sends are unaffected and no error notice goes out for a dropped read update
+        assertNotNull(interceptor.preSend(send("alice", "/app/chat/1"), channel));
+        verify(simpMessagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    void preSend_ShouldPassThroughOtherFrames() {
+        StompHeaderAccessor subscribe = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        subscribe.setDestination("/topic/chat/1");
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], subscribe.getMessageHeaders());
+        assertSame(message, interceptor.preSend(message, channel));
+
+        verify(simpMessagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    private static Message<byte[]> send(String userId, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SEND);
+        accessor.setDestination(destination);
+        accessor.setSessionId(userId + "-session");
+        Principal user = () -> userId;
+        accessor.setUser(user);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
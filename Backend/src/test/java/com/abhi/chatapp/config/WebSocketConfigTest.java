@@ -0,0 +1,50 @@
+package com.abhi.chatapp.config;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.abhi.chatapp.service.DrainService;
+
+public class WebSocketConfigTest {
+
+    @Test
+    void connect_ShouldBeRejectedWhileDraining() {
+        DrainService drainService = mock(DrainService.class);
+        JwtDecoder jwtDecoder = mock(JwtDecoder.class);
+        when(drainService.isDraining()).thenReturn(true);
+
+        WebSocketConfig config = new WebSocketConfig();
+        ReflectionTestUtils.setField(config, "drainService", drainService);
+        ReflectionTestUtils.setField(config, "jwtDecoder", jwtDecoder);
+        ReflectionTestUtils.setField(config, "rateLimitInterceptor", mock(RateLimitInterceptor.class));
+        ChannelRegistration registration = new ChannelRegistration();
+        config.configureClientInboundChannel(registration);
+        List<ChannelInterceptor> interceptors = ReflectionTestUtils.invokeMethod(registration, "getInterceptors");
+
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setSessionId("s1");
+        accessor.setNativeHeader("Authorization", "Bearer token");
+        Message<byte[]> connect = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+
+        assertThrows(MessageDeliveryException.class,
+            () -> interceptors.get(0).preSend(connect, mock(MessageChannel.class)));
+        // Rejected before the token is even decoded
+        verifyNoInteractions(jwtDecoder);
+    }
+}
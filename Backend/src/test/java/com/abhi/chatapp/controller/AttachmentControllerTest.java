@@ -0,0 +1,110 @@
+package com.abhi.chatapp.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import com.abhi.chatapp.entity.Attachment;
+import com.abhi.chatapp.entity.AttachmentUpload;
+import com.abhi.chatapp.repository.AttachmentRepository;
+import com.abhi.chatapp.service.AttachmentService;
+import com.abhi.chatapp.service.BlobStore;
+
+@ExtendWith(MockitoExtension.class)
+public class AttachmentControllerTest {
+
+    @TempDir
+    Path root;
+
+    @Mock
+    private AttachmentService attachmentService;
+
+    @Mock
+    private AttachmentRepository attachmentRepository;
+
+    @Mock
+    private BlobStore blobStore;
+
+    @InjectMocks
+    private AttachmentController attachmentController;
+
+    private Attachment attachment;
+
+    @BeforeEach
+    void setUp() {
+        attachment = new Attachment();
+        attachment.setId(7L);
+        attachment.setSha256("abc");
+        attachment.setFileName("notes.txt");
+        attachment.setContentType("text/plain");
+        attachment.setSize(11);
+        attachment.setUploaderId("alice");
+    }
+
+    @Test
+    void downloadAttachment_ShouldHideAttachmentsOutsideCallersChats() throws Exception {
+        when(attachmentRepository.findById(7L)).thenReturn(Optional.of(attachment));
+        when(attachmentService.canDownload(attachment, "mallory")).thenReturn(false);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        attachmentController.downloadAttachment(7L, jwt("mallory"), new MockHttpServletRequest(), response);
+
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatus());
+    }
+
+    @Test
+    void downloadAttachment_ShouldServeRequestedRange() throws Exception {
+        Path blob = Files.write(root.resolve("abc"), "hello world".getBytes(StandardCharsets.UTF_8));
+        when(attachmentRepository.findById(7L)).thenReturn(Optional.of(attachment));
+        when(attachmentService.canDownload(attachment, "bob")).thenReturn(true);
+        when(blobStore.blobPath("abc")).thenReturn(blob);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=6-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        attachmentController.downloadAttachment(7L, jwt("bob"), request, response);
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT.value(), response.getStatus());
+        assertEquals("bytes 6-10/11", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals("world".getBytes(StandardCharsets.UTF_8), response.getContentAsByteArray());
+    }
+
+    @Test
+    void uploadChunk_ShouldReturnConflictForConcurrentWriter() throws Exception {
+        AttachmentUpload upload = new AttachmentUpload();
+        upload.setId("upload-1");
+        when(attachmentService.getUpload("upload-1", "alice")).thenReturn(upload);
+        when(attachmentService.appendChunk(eq(upload), eq(0L), any()))
+            .thenThrow(new IllegalStateException("Upload is already being written"));
+
+        ResponseEntity<?> response = attachmentController.uploadChunk("upload-1", 0, jwt("alice"),
+            new MockHttpServletRequest());
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
+    private static Jwt jwt(String subject) {
+        return Jwt.withTokenValue("token").header("alg", "none").subject(subject).build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.abhi.chatapp.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.security.Principal;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import com.abhi.chatapp.dto.MessageRequest;
+import com.abhi.chatapp.entity.Attachment;
+import com.abhi.chatapp.entity.Chat;
+import com.abhi.chatapp.entity.Message;
+import com.abhi.chatapp.entity.User;
+import com.abhi.chatapp.repository.AttachmentRepository;
+import com.abhi.chatapp.repository.ChatRepository;
+import com.abhi.chatapp.repository.UserRepository;
+
+/**
+ * STOMP handlers on ChatController, called directly without a broker.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ChatControllerMessagingTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ChatRepository chatRepository;
+
+    @Mock
+    private AttachmentRepository attachmentRepository;
+
+    @Mock
+    private SimpMessagingTemplate simpMessagingTemplate;
+
+    @Mock
+    private KafkaTemplate<String, Message> kafkaTemplate;
+
+    @InjectMocks
+    private ChatController chatController;
+
+    private Attachment attachment;
+
+    @BeforeEach
+    void setUp() {
+        Chat chat = new Chat();
+        chat.setId(1L);
+        when(chatRepository.findById(1L)).thenReturn(Optional.of(chat));
+
+        User victim = new User();
+        victim.setId("victim");
+        when(userRepository.findById("victim")).thenReturn(Optional.of(victim));
+
+        attachment = new Attachment();
+        attachment.setId(7L);
+        attachment.setUploaderId("victim");
+        when(attachmentRepository.findById(7L)).thenReturn(Optional.of(attachment));
+    }
+
+    @Test
+    void sendMessage_ShouldRejectAttachmentWhenSenderIdIsSpoofed() {
+        MessageRequest request = new MessageRequest();
+        request.setSenderId("victim");
+        request.setContent("look");
+        request.setAttachmentId(7L);
+        Principal attacker = () -> "attacker";
+
+        chatController.sendMessage(1L, request, attacker);
+
+        verify(kafkaTemplate, never()).send(anyString(), any(Message.class));
+        verify(simpMessagingTemplate).convertAndSend(eq("/topic/chat/1/error"), any(Object.class));
+    }
+
+    @Test
+    void sendMessage_ShouldRejectAttachmentWithoutAuthenticatedUser() {
+        MessageRequest request = new MessageRequest();
+        request.setSenderId("victim");
+        request.setAttachmentId(7L);
+
+        chatController.sendMessage(1L, request, null);
+
+        verify(kafkaTemplate, never()).send(anyString(), any(Message.class));
+    }
+
+    @Test
+    void sendMessage_ShouldAttachUploadersOwnAttachment() {
+        MessageRequest request = new MessageRequest();
+        request.setSenderId("victim");
+        request.setAttachmentId(7L);
+        Principal uploader = () -> "victim";
+
+        chatController.sendMessage(1L, request, uploader);
+
+        verify(kafkaTemplate).send(eq("message_persist"), any(Message.class));
+        verify(simpMessagingTemplate).convertAndSend(eq("/topic/chat/1"), any(Object.class));
+    }
+}
@@ -0,0 +1,128 @@
+package com.abhi.chatapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.abhi.chatapp.entity.Attachment;
+import com.abhi.chatapp.entity.AttachmentUpload;
+import com.abhi.chatapp.entity.Chat;
+import com.abhi.chatapp.entity.ChatMember;
+import com.abhi.chatapp.repository.AttachmentRepository;
+import com.abhi.chatapp.repository.AttachmentUploadRepository;
+import com.abhi.chatapp.repository.ChatMemberRepository;
+import com.abhi.chatapp.repository.MessageRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class AttachmentServiceTest {
+
+    @Mock
+    private BlobStore blobStore;
+
+    @Mock
+    private AttachmentRepository attachmentRepository;
+
+    @Mock
+    private AttachmentUploadRepository attachmentUploadRepository;
+
+    @Mock
+    private ChatMemberRepository chatMemberRepository;
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @InjectMocks
+    private AttachmentService attachmentService;
+
+    private AttachmentUpload upload;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(attachmentService, "uploadExpiryHours", 24L);
+
+        upload = new AttachmentUpload();
+        upload.setId("upload-1");
+        upload.setSize(10);
+        upload.setUploaderId("alice");
+        upload.setCreatedAt(LocalDateTime.now().minusDays(3));
+        upload.setLastActivityAt(upload.getCreatedAt());
+    }
+
+    @Test
+    void appendChunk_ShouldRecordActivity() throws Exception {
+        InputStream body = new ByteArrayInputStream(new byte[4]);
+        when(blobStore.append("upload-1", 0, body, 10)).thenReturn(4L);
+
+        assertEquals(4, attachmentService.appendChunk(upload, 0, body));
+
+        assertTrue(upload.getLastActivityAt().isAfter(LocalDateTime.now().minusMinutes(1)));
+        verify(attachmentUploadRepository).save(upload);
+    }
+
+    @Test
+    void appendChunk_ShouldRejectOversizedChunk() throws Exception {
+        when(blobStore.append(eq("upload-1"), eq(0L), any(InputStream.class), anyLong())).thenReturn(-1L);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> attachmentService.appendChunk(upload, 0, new ByteArrayInputStream(new byte[11])));
+        verify(attachmentUploadRepository, never()).save(any());
+    }
+
+    @Test
+    void expireAbandonedUploads_ShouldUseLastActivity() throws Exception {
+        when(attachmentUploadRepository.findByLastActivityAtBefore(any(LocalDateTime.class))).thenReturn(List.of(upload));
+
+        attachmentService.expireAbandonedUploads();
+
+        verify(blobStore).discard("upload-1");
+        verify(attachmentUploadRepository).delete(upload);
+    }
+
+    @Test
+    void canDownload_ShouldAllowUploaderAndMembersOfReferencingChats() {
+        Attachment attachment = new Attachment();
+        attachment.setId(7L);
+        attachment.setUploaderId("alice");
+
+        Chat chat = new Chat();
+        chat.setId(42L);
+        ChatMember member = new ChatMember();
+        member.setChat(chat);
+        when(chatMemberRepository.findByUserId("bob")).thenReturn(List.of(member));
+        when(chatMemberRepository.findByUserId("mallory")).thenReturn(List.of());
+        when(messageRepository.existsByAttachmentIdAndChatIdIn(7L, List.of(42L))).thenReturn(true);
+
+        assertTrue(attachmentService.canDownload(attachment, "alice"));
+        assertTrue(attachmentService.canDownload(attachment, "bob"));
+        assertFalse(attachmentService.canDownload(attachment, "mallory"));
+    }
+
+    @Test
+    void completeUpload_ShouldRejectMissingBytes() throws Exception {
+        when(blobStore.partialLength("upload-1")).thenReturn(6L);
+
+        assertThrows(IllegalArgumentException.class, () -> attachmentService.completeUpload(upload));
+        verify(blobStore, never()).commit(any());
+        verify(attachmentRepository, never()).save(any());
+    }
+}
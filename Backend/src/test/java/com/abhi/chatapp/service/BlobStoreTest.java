@@ -0,0 +1,116 @@
+package com.abhi.chatapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BlobStoreTest {
+
+    @TempDir
+    Path root;
+
+    private BlobStore blobStore;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        blobStore = new BlobStore(root.toString());
+    }
+
+    @Test
+    void append_ShouldResumeFromOffset() throws Exception {
+        byte[] first = "hello ".getBytes(StandardCharsets.UTF_8);
+        byte[] second = "world".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(6, blobStore.append("u1", 0, new ByteArrayInputStream(first), 11));
+        assertEquals(6, blobStore.partialLength("u1"));
+        assertEquals(11, blobStore.append("u1", 6, new ByteArrayInputStream(second), 5));
+
+        String sha256 = blobStore.commit("u1");
+        assertArrayEquals("hello world".getBytes(StandardCharsets.UTF_8), Files.readAllBytes(blobStore.blobPath(sha256)));
+        assertEquals("b94d27b9934d3e08a52e52d7da7dabfac484efe37a5380ee9088f7ace2efcde9", sha256);
+    }
+
+    @Test
+    void append_ShouldRejectStaleOffset() throws Exception {
+        blobStore.append("u1", 0, new ByteArrayInputStream(new byte[4]), 8);
+
+        assertThrows(IllegalStateException.class,
+            () -> blobStore.append("u1", 0, new ByteArrayInputStream(new byte[4]), 8));
+    }
+
+    @Test
+    void append_ShouldRejectConcurrentWriterInSameJvm() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InputStream slowBody = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                return read(new byte[1], 0, 1);
+            }
+
+            @Override
+            public int read(byte[] buffer, int off, int len) throws IOException {
+                reading.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return -1;
+            }
+        };
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Long> first = executor.submit(() -> blobStore.append("u1", 0, slowBody, 8));
+            assertTrue(reading.await(5, TimeUnit.SECONDS));
+
+            assertThrows(IllegalStateException.class,
+                () -> blobStore.append("u1", 0, new ByteArrayInputStream(new byte[4]), 8));
+
+            release.countDown();
+            assertEquals(0, first.get(5, TimeUnit.SECONDS));
+            assertEquals(4, blobStore.append("u1", 0, new ByteArrayInputStream(new byte[4]), 8));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void append_ShouldRejectBytesBeyondDeclaredSize() throws Exception {
+        assertEquals(-1, blobStore.append("u1", 0, new ByteArrayInputStream(new byte[10]), 8));
+        assertEquals(0, blobStore.partialLength("u1"));
+    }
+
+    @Test
+    void commit_ShouldDeduplicateIdenticalContent() throws Exception {
+        byte[] content = "same bytes".getBytes(StandardCharsets.UTF_8);
+        blobStore.append("u1", 0, new ByteArrayInputStream(content), content.length);
+        blobStore.append("u2", 0, new ByteArrayInputStream(content), content.length);
+
+        String first = blobStore.commit("u1");
+        String second = blobStore.commit("u2");
+
+        assertEquals(first, second);
+        assertTrue(Files.exists(blobStore.blobPath(first)));
+        assertFalse(Files.exists(root.resolve("uploads").resolve("u2.part")));
+    }
+}
@@ -0,0 +1,164 @@
+package com.abhi.chatapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationContext;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpSession;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.abhi.chatapp.dto.ReconnectHint;
+import com.abhi.chatapp.entity.Message;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class DrainServiceTest {
+
+    private static final long MIN_DELAY_MS = 50;
+    private static final long MAX_DELAY_MS = 150;
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    @Mock
+    private SimpMessagingTemplate simpMessagingTemplate;
+
+    @Mock
+    private SimpUserRegistry simpUserRegistry;
+
+    @Mock
+    private KafkaTemplate<String, Message> kafkaTemplate;
+
+    @Mock
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry;
+
+    @InjectMocks
+    private DrainService drainService;
+
+    private final Map<String, Long> closedAtNanos = Collections.synchronizedMap(new HashMap<>());
+    private final List<String> closeOrder = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(drainService, "reconnectMinDelayMs", MIN_DELAY_MS);
+        ReflectionTestUtils.setField(drainService, "reconnectMaxDelayMs", MAX_DELAY_MS);
+        drainService.registerMetrics();
+    }
+
+    @Test
+    void drain_ShouldCloseEachUsersSessionsTogetherInDelayOrder() throws Exception {
+        for (String id : List.of("alice-1", "alice-2", "bob-1", "carol-1")) {
+            drainService.sessionOpened(session(id));
+        }
+        SimpUser alice = user("alice", "alice-1", "alice-2");
+        SimpUser bob = user("bob", "bob-1");
+        SimpUser carol = user("carol", "carol-1");
+        when(simpUserRegistry.getUsers()).thenReturn(Set.of(alice, bob, carol));
+
+        long start = System.nanoTime();
+        drainService.drain();
+
+        ArgumentCaptor<String> destinations = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object> hints = ArgumentCaptor.forClass(Object.class);
+        verify(simpMessagingTemplate, times(3)).convertAndSend(destinations.capture(), hints.capture());
+        Map<String, Long> delayByUser = new HashMap<>();
+        for (int i = 0; i < destinations.getAllValues().size(); i++) {
+            String user = destinations.getAllValues().get(i).split("/")[3];
+            long delay = ((ReconnectHint) hints.getAllValues().get(i)).getRetryAfterMs();
+            assertTrue(delay >= MIN_DELAY_MS && delay <= MAX_DELAY_MS, "delay " + delay + " out of range");
+            delayByUser.put(user, delay);
+        }
+
+        assertEquals(4, closeOrder.size());
+        for (String sessionId : closeOrder) {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(closedAtNanos.get(sessionId) - start);
+            long delay = delayByUser.get(sessionId.split("-")[0]);
+            assertTrue(elapsedMs >= delay, sessionId + " closed after " + elapsedMs + " ms, before its " + delay + " ms slot");
+            assertTrue(elapsedMs <= MAX_DELAY_MS + 500, sessionId + " closed late: " + elapsedMs + " ms");
+        }
+        for (int i = 1; i < closeOrder.size(); i++) {
+            assertTrue(delayByUser.get(closeOrder.get(i - 1).split("-")[0]) <= delayByUser.get(closeOrder.get(i).split("-")[0]));
+        }
+        // One slot per user: both of Alice's sessions close back to back at the same delay
+        long aliceGapMs = TimeUnit.NANOSECONDS.toMillis(Math.abs(closedAtNanos.get("alice-1") - closedAtNanos.get("alice-2")));
+        assertTrue(aliceGapMs < 20, "alice's sessions closed " + aliceGapMs + " ms apart");
+
+        verify(kafkaTemplate).flush();
+        verify(kafkaListenerEndpointRegistry).stop();
+        assertTrue(drainService.isDraining());
+    }
+
+    @Test
+    void drain_ShouldCloseAnonymousSessionsWithinRange() throws Exception {
+        drainService.sessionOpened(session("anonymous-1"));
+        when(simpUserRegistry.getUsers()).thenReturn(Set.of());
+
+        long start = System.nanoTime();
+        drainService.drain();
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(closedAtNanos.get("anonymous-1") - start);
+        assertTrue(elapsedMs >= MIN_DELAY_MS && elapsedMs <= MAX_DELAY_MS + 500, "closed after " + elapsedMs + " ms");
+        verify(simpMessagingTemplate, never()).convertAndSend(any(String.class), any(Object.class));
+        assertEquals(1.0, meterRegistry.get("chatapp.websocket.connects").counter().count());
+    }
+
+    private WebSocketSession session(String id) throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        doAnswer(invocation -> {
+            closedAtNanos.put(id, System.nanoTime());
+            closeOrder.add(id);
+            return null;
+        }).when(session).close(eq(CloseStatus.GOING_AWAY));
+        return session;
+    }
+
+    private static SimpUser user(String name, String... sessionIds) {
+        SimpUser user = mock(SimpUser.class);
+        when(user.getName()).thenReturn(name);
+        Set<SimpSession> sessions = new HashSet<>();
+        for (String sessionId : sessionIds) {
+            SimpSession session = mock(SimpSession.class);
+            when(session.getId()).thenReturn(sessionId);
+            sessions.add(session);
+        }
+        when(user.getSessions()).thenReturn(sessions);
+        return user;
+    }
+}
@@ -0,0 +1,103 @@
+package com.abhi.chatapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import com.abhi.chatapp.entity.Chat;
+import com.abhi.chatapp.entity.ChatMember;
+import com.abhi.chatapp.entity.Message;
+import com.abhi.chatapp.entity.User;
+import com.abhi.chatapp.repository.ChatMemberRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class InboxConsumerTest {
+
+    @Mock
+    private ChatMemberRepository chatMemberRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry;
+
+    @InjectMocks
+    private InboxConsumer inboxConsumer;
+
+    private Chat chat;
+
+    @BeforeEach
+    void setUp() {
+        chat = new Chat();
+        chat.setId(42L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void consume_ShouldWritePointerForEveryMemberExceptSender() {
+        when(chatMemberRepository.findByChatId(42L)).thenReturn(List.of(member("alice"), member("bob"), member("carol")));
+
+        inboxConsumer.consume(message("alice"));
+
+        ArgumentCaptor<Collection<String>> recipients = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), recipients.capture(), eq(2),
+            any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(List.of("bob", "carol"), List.copyOf(recipients.getValue()));
+        assertEquals(2.0, meterRegistry.get("chatapp.inbox.pointers").counter().count());
+    }
+
+    @Test
+    void consume_ShouldSkipChatWithOnlyTheSender() {
+        when(chatMemberRepository.findByChatId(42L)).thenReturn(List.of(member("alice")));
+
+        inboxConsumer.consume(message("alice"));
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(Collection.class), anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    private Message message(String senderId) {
+        Message message = new Message();
+        message.setId(1L);
+        message.setChat(chat);
+        message.setSender(user(senderId));
+        message.setTimestamp(LocalDateTime.now());
+        return message;
+    }
+
+    private ChatMember member(String userId) {
+        ChatMember member = new ChatMember();
+        member.setChat(chat);
+        member.setUser(user(userId));
+        return member;
+    }
+
+    private static User user(String id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+}
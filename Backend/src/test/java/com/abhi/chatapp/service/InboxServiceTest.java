@@ -0,0 +1,93 @@
+package com.abhi.chatapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.abhi.chatapp.dto.InboxResponse;
+import com.abhi.chatapp.entity.InboxEntry;
+import com.abhi.chatapp.entity.Message;
+import com.abhi.chatapp.repository.InboxEntryRepository;
+import com.abhi.chatapp.repository.MessageRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class InboxServiceTest {
+
+    @Mock
+    private InboxEntryRepository inboxEntryRepository;
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @InjectMocks
+    private InboxService inboxService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(inboxService, "maxPageSize", 500);
+        ReflectionTestUtils.setField(inboxService, "pruneGraceSeconds", 300L);
+    }
+
+    @Test
+    void getInbox_ShouldMergeChatsInIdOrderAndAdvanceCursor() {
+        InboxEntry first = entry(1L, LocalDateTime.now());
+        InboxEntry second = entry(2L, LocalDateTime.now());
+        when(inboxEntryRepository.findByUserId("user")).thenReturn(List.of(first, second));
+        when(messageRepository.findByChatIdAndIdGreaterThanAndTimestampGreaterThanEqualOrderByIdAsc(
+                eq(1L), eq(10L), any(), any(Pageable.class)))
+            .thenReturn(List.of(message(11L), message(14L), message(15L)));
+        when(messageRepository.findByChatIdAndIdGreaterThanAndTimestampGreaterThanEqualOrderByIdAsc(
+                eq(2L), eq(10L), any(), any(Pageable.class)))
+            .thenReturn(List.of(message(12L), message(13L), message(16L)));
+
+        InboxResponse response = inboxService.getInbox("user", 10L, 4);
+
+        assertEquals(List.of(11L, 12L, 13L, 14L), response.getMessages().stream().map(Message::getId).toList());
+        assertEquals(14L, response.getNextCursor());
+    }
+
+    @Test
+    void getInbox_ShouldPruneOnlyStaleCaughtUpPointers() {
+        InboxEntry stale = entry(1L, LocalDateTime.now().minusHours(1));
+        InboxEntry recent = entry(2L, LocalDateTime.now());
+        when(inboxEntryRepository.findByUserId("user")).thenReturn(List.of(stale, recent));
+        when(messageRepository.findByChatIdAndIdGreaterThanAndTimestampGreaterThanEqualOrderByIdAsc(
+                any(), any(), any(), any(Pageable.class)))
+            .thenReturn(List.of());
+
+        InboxResponse response = inboxService.getInbox("user", 20L, 100);
+
+        assertEquals(20L, response.getNextCursor());
+        verify(inboxEntryRepository).deleteStale(eq(List.of(1L)), any(LocalDateTime.class));
+    }
+
+    private static InboxEntry entry(Long chatId, LocalDateTime lastMissedAt) {
+        InboxEntry entry = new InboxEntry();
+        entry.setId(chatId);
+        entry.setUserId("user");
+        entry.setChatId(chatId);
+        entry.setFirstMissedAt(lastMissedAt.minusMinutes(5));
+        entry.setLastMissedAt(lastMissedAt);
+        return entry;
+    }
+
+    private static Message message(Long id) {
+        Message message = new Message();
+        message.setId(id);
+        return message;
+    }
+}
@@ -0,0 +1,82 @@
+package com.abhi.chatapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLTransientConnectionException;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ListenerExecutionFailedException;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class PersistenceCircuitBreakerTest {
+
+    @Mock
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private MessageListenerContainer container;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry;
+
+    @InjectMocks
+    private PersistenceCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(circuitBreaker, "initialCooldownMs", 1000L);
+        ReflectionTestUtils.setField(circuitBreaker, "maxCooldownMs", 8000L);
+        circuitBreaker.registerMetrics();
+    }
+
+    @Test
+    void isOutage_ShouldRecognizeWrappedConnectionFailures() {
+        Exception outage = new ListenerExecutionFailedException("listener failed",
+            new CannotCreateTransactionException("no connection", new SQLTransientConnectionException("timeout")));
+
+        assertTrue(circuitBreaker.isOutage(outage));
+        assertFalse(circuitBreaker.isOutage(new ListenerExecutionFailedException("listener failed",
+            new DataIntegrityViolationException("duplicate key"))));
+    }
+
+    @Test
+    void trip_ShouldPauseUntilHalfOpen() {
+        when(kafkaListenerEndpointRegistry.getListenerContainer(PersistenceCircuitBreaker.LISTENER_ID)).thenReturn(container);
+        when(container.isRunning()).thenReturn(true);
+
+        circuitBreaker.trip(new RuntimeException("db down"));
+        circuitBreaker.trip(new RuntimeException("db still down"));
+
+        assertTrue(circuitBreaker.isOpen());
+        verify(container, times(1)).pause();
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+
+        circuitBreaker.halfOpen();
+
+        assertFalse(circuitBreaker.isOpen());
+        verify(container).resume();
+    }
+}
@@ -0,0 +1,138 @@
+package com.abhi.chatapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import com.abhi.chatapp.dto.ReadReceipt;
+import com.abhi.chatapp.entity.Message;
+import com.abhi.chatapp.repository.ChatMemberRepository;
+import com.abhi.chatapp.repository.MessageRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class ReadStateServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ChatMemberRepository chatMemberRepository;
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private SimpMessagingTemplate simpMessagingTemplate;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry;
+
+    @InjectMocks
+    private ReadStateService readStateService;
+
+    @BeforeEach
+    void setUp() {
+        readStateService.registerMetrics();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldCoalesceToHighestMessageId() {
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+            .thenReturn(new int[][] {{1}});
+
+        stubLatest(1L, 100L);
+        when(messageRepository.existsByIdAndChatId(9L, 1L)).thenReturn(true);
+
+        readStateService.markRead(1L, "user", 5L);
+        readStateService.markRead(1L, "user", 9L);
+        readStateService.markRead(1L, "user", 7L);
+        readStateService.flush();
+
+        ArgumentCaptor<Collection<ReadReceipt>> batch = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(List.of(new ReadReceipt(1L, "user", 9L)), List.copyOf(batch.getValue()));
+        verify(simpMessagingTemplate).convertAndSend(eq("/topic/chat/1/read"), eq(new ReadReceipt(1L, "user", 9L)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldSkipReceiptWhenCursorWasNotAdvanced() {
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+            .thenReturn(new int[][] {{0}});
+        stubLatest(1L, 100L);
+        when(messageRepository.existsByIdAndChatId(5L, 1L)).thenReturn(true);
+
+        readStateService.markRead(1L, "user", 5L);
+        readStateService.flush();
+
+        verify(simpMessagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void markRead_ShouldResolveLatestPersistedMessageWhenIdMissing() {
+        stubLatest(1L, 42L);
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+            .thenReturn(new int[][] {{1}});
+
+        readStateService.markRead(1L, "user", null);
+        readStateService.markRead(1L, "user", null);
+        verify(messageRepository, never()).findTopByChatIdOrderByIdDesc(any());
+
+        readStateService.flush();
+
+        verify(messageRepository, times(1)).findTopByChatIdOrderByIdDesc(1L);
+        verify(simpMessagingTemplate).convertAndSend(eq("/topic/chat/1/read"), eq(new ReadReceipt(1L, "user", 42L)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldCapOrDropIdsOutsideTheChat() {
+        stubLatest(1L, 42L);
+        stubLatest(2L, 500L);
+        when(messageRepository.existsByIdAndChatId(300L, 2L)).thenReturn(false);
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+            .thenReturn(new int[][] {{1}});
+
+        readStateService.markRead(1L, "user", Long.MAX_VALUE);
+        // 300 is below chat 2's newest ID but belongs to another chat
+        readStateService.markRead(2L, "user", 300L);
+        readStateService.flush();
+
+        ArgumentCaptor<Collection<ReadReceipt>> batch = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(List.of(new ReadReceipt(1L, "user", 42L)), List.copyOf(batch.getValue()));
+        verify(simpMessagingTemplate, never()).convertAndSend(eq("/topic/chat/2/read"), any(Object.class));
+    }
+
+    private void stubLatest(Long chatId, Long messageId) {
+        Message latest = new Message();
+        latest.setId(messageId);
+        when(messageRepository.findTopByChatIdOrderByIdDesc(chatId)).thenReturn(Optional.of(latest));
+    }
+}
@@ -0,0 +1,74 @@
+package com.abhi.chatapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TokenBucketRateLimiterTest {
+
+    private AtomicLong clock;
+    private TokenBucketRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+        limiter = new TokenBucketRateLimiter(10, 3, clock::get);
+    }
+
+    @Test
+    void tryAcquire_ShouldAllowBurstThenThrottle() {
+        assertTrue(limiter.tryAcquire("user"));
+        assertTrue(limiter.tryAcquire("user"));
+        assertTrue(limiter.tryAcquire("user"));
+        assertFalse(limiter.tryAcquire("user"));
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillOverTime() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("user");
+        }
+        assertFalse(limiter.tryAcquire("user"));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(limiter.tryAcquire("user"));
+        assertFalse(limiter.tryAcquire("user"));
+    }
+
+    @Test
+    void tryAcquire_ShouldTrackKeysIndependently() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a");
+        }
+        assertFalse(limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("b"));
+    }
+
+    @Test
+    void release_ShouldReturnPermit() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("user");
+        }
+        assertFalse(limiter.tryAcquire("user"));
+
+        limiter.release("user");
+        assertTrue(limiter.tryAcquire("user"));
+        assertFalse(limiter.tryAcquire("user"));
+    }
+
+    @Test
+    void evictIdle_ShouldDropOnlyRefilledBuckets() {
+        limiter.tryAcquire("a");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limiter.tryAcquire("b");
+
+        assertEquals(1, limiter.evictIdle());
+        assertEquals(1, limiter.size());
+    }
+}
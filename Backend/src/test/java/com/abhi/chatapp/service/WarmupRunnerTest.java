@@ -0,0 +1,68 @@
+package com.abhi.chatapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.abhi.chatapp.entity.Message;
+import com.abhi.chatapp.repository.ChatRepository;
+import com.abhi.chatapp.repository.MessageRepository;
+import com.abhi.chatapp.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class WarmupRunnerTest {
+
+    @Mock
+    private JwtDecoder jwtDecoder;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ChatRepository chatRepository;
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private KafkaTemplate<String, Message> kafkaTemplate;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry;
+
+    @InjectMocks
+    private WarmupRunner warmupRunner;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(warmupRunner, "enabled", true);
+    }
+
+    @Test
+    void run_ShouldContinuePastFailedSteps() {
+        when(jwtDecoder.decode(anyString())).thenThrow(new IllegalStateException("JWKS endpoint unreachable"));
+        when(userRepository.existsById("warmup")).thenThrow(new RuntimeException("database down"));
+
+        assertDoesNotThrow(() -> warmupRunner.run(new DefaultApplicationArguments()));
+
+        // The database step stops at its first failure; the Kafka step still runs
+        verify(kafkaTemplate).partitionsFor("message_persist");
+        assertEquals(1, meterRegistry.get("chatapp.startup.warmup").timer().count());
+    }
+}